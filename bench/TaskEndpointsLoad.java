@@ -0,0 +1,117 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+// Generador de carga para los endpoints de TaskController, sin dependencias: java bench/TaskEndpointsLoad.java
+// Uso: java bench/TaskEndpointsLoad.java <baseUrl> <token> <projectId> <taskId> [concurrencia] [segundos]
+// Imprime una línea por escenario: peticiones/s, p50, p99 y errores
+public class TaskEndpointsLoad {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Uso: TaskEndpointsLoad <baseUrl> <token> <projectId> <taskId> [concurrencia] [segundos]");
+            System.exit(1);
+        }
+        String baseUrl = args[0];
+        String token = args[1];
+        long projectId = Long.parseLong(args[2]);
+        long taskId = Long.parseLong(args[3]);
+        int concurrency = args.length > 4 ? Integer.parseInt(args[4]) : 50;
+        int seconds = args.length > 5 ? Integer.parseInt(args[5]) : 20;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        Map<String, IntFunction<HttpRequest>> scenarios = new LinkedHashMap<>();
+        scenarios.put("GET /api/tasks/project/{id}", i -> get(baseUrl + "/api/tasks/project/" + projectId, token));
+        scenarios.put("GET /api/tasks/project/{id}/board", i -> get(baseUrl + "/api/tasks/project/" + projectId + "/board", token));
+        scenarios.put("GET /api/tasks/{id}", i -> get(baseUrl + "/api/tasks/" + taskId, token));
+        scenarios.put("POST /api/tasks", i -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"title\":\"bench " + i + "\",\"projectId\":" + projectId + "}"))
+                .build());
+
+        System.out.printf("%-36s %10s %9s %9s %8s%n", "escenario", "req/s", "p50 ms", "p99 ms", "errores");
+        for (Map.Entry<String, IntFunction<HttpRequest>> scenario : scenarios.entrySet()) {
+            // Calentamiento corto (JIT, caché de sentencias del servidor) antes de medir
+            run(client, scenario.getValue(), concurrency, Math.max(2, seconds / 5));
+            Result result = run(client, scenario.getValue(), concurrency, seconds);
+            System.out.printf("%-36s %10.1f %9.1f %9.1f %8d%n", scenario.getKey(),
+                    result.requests / (double) seconds, result.percentile(0.50), result.percentile(0.99), result.errors);
+        }
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private static Result run(HttpClient client, IntFunction<HttpRequest> request, int concurrency, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+        AtomicLong sequence = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            workers.add(executor.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request.apply((int) sequence.incrementAndGet()),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        List<long[]> all = new ArrayList<>();
+        for (Future<long[]> worker : workers) {
+            all.add(worker.get());
+        }
+        executor.shutdown();
+        return new Result(all.stream().flatMapToLong(Arrays::stream).sorted().toArray(), errors.get());
+    }
+
+    private static final class Result {
+        private final long[] sortedNanos;
+        private final long requests;
+        private final long errors;
+
+        Result(long[] sortedNanos, long errors) {
+            this.sortedNanos = sortedNanos;
+            this.requests = sortedNanos.length;
+            this.errors = errors;
+        }
+
+        double percentile(double p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p * sortedNanos.length) - 1);
+            return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
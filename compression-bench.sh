@@ -0,0 +1,148 @@
+#!/bin/bash
+
+# Mide bytes transferidos y latencia de los listados con y sin gzip, en HTTP/1.1, h2c y h2 sobre TLS
+# Uso: ./compression-bench.sh [jar]   (después de mvn package)
+# Necesita la base de datos de application.yml o SPRING_DATASOURCE_URL/USERNAME/PASSWORD
+
+set -o pipefail
+
+JAR=${1:-target/projectapp-0.0.1-SNAPSHOT.jar}
+PORT=${BENCH_PORT:-18082}
+TLS_PORT=${BENCH_TLS_PORT:-18443}
+SIZES=${BENCH_PROJECT_SIZES:-"20 200 1000"}
+RUNS=${BENCH_RUNS:-20}
+REPORT=target/compression-bench-report.txt
+KEYSTORE=target/compression-bench.p12
+KEYSTORE_PASSWORD=changeit
+
+if [ ! -f "$JAR" ]; then
+    echo "❌ No existe $JAR; ejecuta antes mvn package"
+    exit 1
+fi
+mkdir -p target
+
+json_field() {
+    grep -o "\"$1\":[^,}]*" | head -1 | cut -d: -f2- | tr -d '"'
+}
+
+# Arranca la aplicación con los argumentos dados y espera a que /actuator/health responda
+start_app() {
+    local label=$1
+    local url=$2
+    shift 2
+    java -jar "$JAR" --spring.jpa.show-sql=false "$@" > "target/compression-bench-$label.log" 2>&1 &
+    APP_PID=$!
+    for ((i = 0; i < 600; i++)); do
+        [ "$(curl -sk -o /dev/null -w '%{http_code}' "$url/actuator/health")" = "200" ] && return 0
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            echo "❌ $label no arrancó, revisa target/compression-bench-$label.log"
+            return 1
+        fi
+        sleep 0.2
+    done
+    echo "❌ $label no respondió, revisa target/compression-bench-$label.log"
+    return 1
+}
+
+stop_app() {
+    kill "$APP_PID" 2>/dev/null
+    wait "$APP_PID" 2>/dev/null
+}
+
+# Crea un usuario y un proyecto por tamaño con tareas parecidas a las reales (descripción, prioridad, vencimiento)
+seed() {
+    local url=$1
+    local user="bench$(date +%s%N)"
+    curl -s -X POST "$url/api/auth/register" -H "Content-Type: application/json" \
+        -d "{\"username\":\"$user\",\"email\":\"$user@example.com\",\"password\":\"bench123\"}" > /dev/null
+    TOKEN=$(curl -s -X POST "$url/api/auth/login" -H "Content-Type: application/json" \
+        -d "{\"usernameOrEmail\":\"$user\",\"password\":\"bench123\"}" | json_field token)
+    PROJECTS=()
+    local priorities=(LOW MEDIUM HIGH)
+    for size in $SIZES; do
+        local project_id
+        project_id=$(curl -s -X POST "$url/api/projects" -H "Content-Type: application/json" \
+            -H "Authorization: Bearer $TOKEN" -d "{\"name\":\"Compresión $size\",\"description\":\"Proyecto de $size tareas\"}" \
+            | json_field id)
+        for ((i = 1; i <= size; i++)); do
+            local due=""
+            [ $((i % 2)) -eq 0 ] && due=",\"dueDate\":\"2030-01-$(printf '%02d' $((i % 28 + 1)))T18:00:00\""
+            curl -s -o /dev/null -X POST "$url/api/tasks" -H "Content-Type: application/json" \
+                -H "Authorization: Bearer $TOKEN" \
+                -d "{\"title\":\"Tarea $i del proyecto\",\"description\":\"Descripción de la tarea $i con el detalle habitual\",\"projectId\":$project_id,\"priority\":\"${priorities[$((i % 3))]}\"$due}"
+        done
+        PROJECTS+=("$size:$project_id")
+    done
+}
+
+# RUNS peticiones: imprime bytes del cuerpo en la red, Content-Encoding, versión HTTP y mediana/p90 en ms
+measure() {
+    local label=$1
+    local path=$2
+    shift 2
+    local headers="target/compression-bench-headers.txt"
+    local times=()
+    local bytes="" version=""
+    for ((r = 0; r < RUNS; r++)); do
+        local out
+        out=$(curl -sk -o /dev/null -D "$headers" -H "Authorization: Bearer $TOKEN" \
+            -w '%{size_download} %{time_total} %{http_version}' "$@" "$path") || return 1
+        bytes=$(echo "$out" | cut -d' ' -f1)
+        version=$(echo "$out" | cut -d' ' -f3)
+        times+=("$(echo "$out" | cut -d' ' -f2)")
+    done
+    local encoding
+    encoding=$(grep -i '^content-encoding:' "$headers" | cut -d: -f2 | tr -d ' \r')
+    printf '%s\n' "${times[@]}" | sort -n | awk -v label="$label" -v bytes="$bytes" -v enc="${encoding:-identity}" -v ver="$version" \
+        '{ v[NR] = $1 } END { printf "  %-34s %10d %-9s %-5s %8.1f %8.1f\n", label, bytes, enc, ver, v[int((NR + 1) / 2)] * 1000, v[int(NR * 0.9 + 0.5)] * 1000 }'
+}
+
+report_plain() {
+    local url=$1
+    for entry in "${PROJECTS[@]}"; do
+        local size=${entry%%:*} id=${entry##*:}
+        echo "▶️  Proyecto de $size tareas: GET /api/tasks/project/$id"
+        measure "HTTP/1.1 sin comprimir" "$url/api/tasks/project/$id" --http1.1 -H "Accept-Encoding: identity"
+        measure "HTTP/1.1 gzip" "$url/api/tasks/project/$id" --http1.1 -H "Accept-Encoding: gzip"
+        measure "HTTP/1.1 br (solo el proxy)" "$url/api/tasks/project/$id" --http1.1 -H "Accept-Encoding: br"
+        measure "h2c gzip" "$url/api/tasks/project/$id" --http2-prior-knowledge -H "Accept-Encoding: gzip"
+        measure "h2c gzip /stream" "$url/api/tasks/project/$id/stream" --http2-prior-knowledge -H "Accept-Encoding: gzip"
+    done
+    echo "▶️  GET /api/projects"
+    measure "HTTP/1.1 sin comprimir" "$url/api/projects" --http1.1 -H "Accept-Encoding: identity"
+    measure "h2c gzip" "$url/api/projects" --http2-prior-knowledge -H "Accept-Encoding: gzip"
+}
+
+report_tls() {
+    local url=$1
+    for entry in "${PROJECTS[@]}"; do
+        local size=${entry%%:*} id=${entry##*:}
+        echo "▶️  Proyecto de $size tareas sobre TLS: GET /api/tasks/project/$id"
+        measure "HTTP/1.1 + TLS gzip" "$url/api/tasks/project/$id" --http1.1 -H "Accept-Encoding: gzip"
+        measure "h2 gzip" "$url/api/tasks/project/$id" --http2 -H "Accept-Encoding: gzip"
+    done
+}
+
+if [ ! -f "$KEYSTORE" ]; then
+    keytool -genkeypair -alias projectapp -keyalg EC -groupname secp256r1 -dname "CN=localhost" \
+        -ext "SAN=dns:localhost,ip:127.0.0.1" -validity 30 -storetype PKCS12 \
+        -keystore "$KEYSTORE" -storepass "$KEYSTORE_PASSWORD" > /dev/null 2>&1 || { echo "❌ keytool falló"; exit 1; }
+fi
+
+{
+    echo "🗜️  $RUNS peticiones por escenario; bytes del cuerpo en la red y latencia en ms"
+    printf "  %-34s %10s %-9s %-5s %8s %8s\n" "escenario" "bytes" "encoding" "http" "p50" "p90"
+
+    start_app plain "http://localhost:$PORT" --server.port="$PORT" || exit 1
+    seed "http://localhost:$PORT"
+    report_plain "http://localhost:$PORT"
+    stop_app
+
+    # Los proyectos ya están en la base; el perfil tls solo cambia el conector
+    start_app tls "https://localhost:$TLS_PORT" --spring.profiles.active=tls --server.port="$TLS_PORT" \
+        --server.ssl.key-store="file:$KEYSTORE" --server.ssl.key-store-password="$KEYSTORE_PASSWORD" || exit 1
+    report_tls "https://localhost:$TLS_PORT"
+    stop_app
+} | tee "$REPORT"
+
+echo "📄 Informe guardado en $REPORT"
@@ -0,0 +1,81 @@
+#!/bin/bash
+
+# Compara el rendimiento de los endpoints de tareas con el pool por defecto y con el perfil db-tuned
+# Uso: ./pool-bench.sh [jar]   (después de mvn package)
+# Necesita la base de datos de application.yml o SPRING_DATASOURCE_URL/USERNAME/PASSWORD
+
+set -o pipefail
+
+JAR=${1:-target/projectapp-0.0.1-SNAPSHOT.jar}
+PORT=${BENCH_PORT:-18081}
+CONCURRENCY=${BENCH_CONCURRENCY:-50}
+SECONDS_PER_SCENARIO=${BENCH_SECONDS:-20}
+SEED_TASKS=${BENCH_SEED_TASKS:-200}
+REPORT=target/pool-bench-report.txt
+BASE_URL="http://localhost:$PORT"
+
+if [ ! -f "$JAR" ]; then
+    echo "❌ No existe $JAR; ejecuta antes mvn package"
+    exit 1
+fi
+mkdir -p target
+
+json_field() {
+    grep -o "\"$1\":[^,}]*" | head -1 | cut -d: -f2- | tr -d '"'
+}
+
+# Arranca la aplicación con los argumentos dados, prepara un proyecto con tareas y lanza la carga
+bench() {
+    local label=$1
+    shift
+    local log="target/pool-bench-$label.log"
+    java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false "$@" > "$log" 2>&1 &
+    local pid=$!
+
+    for ((i = 0; i < 600; i++)); do
+        [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/actuator/health")" = "200" ] && break
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "❌ $label no arrancó, revisa $log"
+            return 1
+        fi
+        sleep 0.2
+    done
+
+    local user="bench$(date +%s%N)"
+    curl -s -X POST "$BASE_URL/api/auth/register" -H "Content-Type: application/json" \
+        -d "{\"username\":\"$user\",\"email\":\"$user@example.com\",\"password\":\"bench123\"}" > /dev/null
+    local token
+    token=$(curl -s -X POST "$BASE_URL/api/auth/login" -H "Content-Type: application/json" \
+        -d "{\"usernameOrEmail\":\"$user\",\"password\":\"bench123\"}" | json_field token)
+    local project_id
+    project_id=$(curl -s -X POST "$BASE_URL/api/projects" -H "Content-Type: application/json" \
+        -H "Authorization: Bearer $token" -d "{\"name\":\"Bench $label\"}" | json_field id)
+    local task_id=""
+    for ((i = 1; i <= SEED_TASKS; i++)); do
+        local id
+        id=$(curl -s -X POST "$BASE_URL/api/tasks" -H "Content-Type: application/json" \
+            -H "Authorization: Bearer $token" -d "{\"title\":\"Semilla $i\",\"projectId\":$project_id}" | json_field id)
+        task_id=${task_id:-$id}
+    done
+
+    echo "▶️  $label (concurrencia $CONCURRENCY, ${SECONDS_PER_SCENARIO}s por escenario)"
+    java bench/TaskEndpointsLoad.java "$BASE_URL" "$token" "$project_id" "$task_id" "$CONCURRENCY" "$SECONDS_PER_SCENARIO"
+    local status=$?
+
+    # Espera por una conexión del pool durante toda la prueba (Hikari vía Micrometer)
+    curl -s "$BASE_URL/actuator/metrics/hikaricp.connections.acquire" -H "Authorization: Bearer $token" \
+        | grep -o '"statistic":"[A-Z_]*","value":[0-9.E-]*' | sed 's/"statistic":"\([A-Z_]*\)","value":/  acquire \1 = /'
+    grep -m1 "Pool de conexiones" "$log" | sed 's/.*: Pool/  Pool/'
+
+    kill "$pid" 2>/dev/null
+    wait "$pid" 2>/dev/null
+    return $status
+}
+
+{
+    bench default || exit 1
+    echo
+    bench db-tuned --spring.profiles.active=db-tuned || exit 1
+} | tee "$REPORT"
+
+echo "📄 Informe guardado en $REPORT"
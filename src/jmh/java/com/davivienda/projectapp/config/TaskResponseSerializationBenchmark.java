@@ -0,0 +1,203 @@
+package com.davivienda.projectapp.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.davivienda.projectapp.dto.LabelResponse;
+import com.davivienda.projectapp.dto.NormalizedTaskListResponse;
+import com.davivienda.projectapp.dto.NormalizedTaskResponse;
+import com.davivienda.projectapp.dto.TaskResponse;
+import com.davivienda.projectapp.model.TaskPriority;
+import com.davivienda.projectapp.model.TaskStatus;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// Serialización de List<TaskResponse>: ObjectMapper por defecto de Spring Boot frente a JacksonConfig en JSON,
+// CBOR y Smile, lista completa frente a escritura en streaming elemento a elemento, y la vista normalizada
+// (?view=normalized) con los mismos datos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskResponseSerializationBenchmark {
+
+    @Param({"100", "5000"})
+    public int tasks;
+
+    private List<TaskResponse> payload;
+    private NormalizedTaskListResponse normalizedPayload;
+    private ObjectWriter defaultJson;
+    private ObjectWriter tunedJson;
+    private ObjectWriter tunedCbor;
+    private ObjectWriter tunedSmile;
+    private ObjectWriter tunedJsonElement;
+    private ObjectWriter tunedJsonNormalized;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            payload.add(task(i));
+        }
+        defaultJson = mapper(new JsonFactory(), false).writerFor(List.class);
+        tunedJson = mapper(new JsonFactory(), true).writerFor(List.class);
+        tunedCbor = mapper(new CBORFactory(), true).writerFor(List.class);
+        tunedSmile = mapper(new SmileFactory(), true).writerFor(List.class);
+        tunedJsonElement = mapper(new JsonFactory(), true).writerFor(TaskResponse.class);
+        tunedJsonNormalized = mapper(new JsonFactory(), true).writerFor(NormalizedTaskListResponse.class);
+        normalizedPayload = normalize(payload);
+
+        System.out.printf("%n%d tareas: JSON %d bytes, CBOR %d bytes, Smile %d bytes, JSON normalizado %d bytes%n", tasks,
+                tunedJson.writeValueAsBytes(payload).length, tunedCbor.writeValueAsBytes(payload).length,
+                tunedSmile.writeValueAsBytes(payload).length, tunedJsonNormalized.writeValueAsBytes(normalizedPayload).length);
+    }
+
+    @Benchmark
+    public byte[] defaultJson() throws IOException {
+        return defaultJson.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] tunedJson() throws IOException {
+        return tunedJson.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] tunedCbor() throws IOException {
+        return tunedCbor.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] tunedSmile() throws IOException {
+        return tunedSmile.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] tunedJsonNormalized() throws IOException {
+        return tunedJsonNormalized.writeValueAsBytes(normalizedPayload);
+    }
+
+    // Lo que hace GET /api/tasks/project/{id}/stream: un elemento cada vez hacia la salida, sin buffer completo
+    @Benchmark
+    public long tunedJsonStreaming() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (SequenceWriter array = tunedJsonElement.writeValuesAsArray(out)) {
+            for (TaskResponse task : payload) {
+                array.write(task);
+            }
+        }
+        return out.count;
+    }
+
+    // Mismos ajustes de fechas que Spring Boot; con tuned se aplica además JacksonConfig
+    private static ObjectMapper mapper(JsonFactory factory, boolean tuned) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (tuned) {
+            JacksonConfig.tune(builder);
+        }
+        return builder.build();
+    }
+
+    private static TaskResponse task(int i) {
+        TaskResponse task = new TaskResponse();
+        task.setId((long) i);
+        task.setVersion((long) (i % 7));
+        task.setTitle("Tarea " + i);
+        task.setDescription("Descripción de la tarea " + i + " con algo de texto para que el cuerpo se parezca al real");
+        task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+        task.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+        task.setAssignedTo(i % 3 == 0 ? null : "usuario" + (i % 10));
+        task.setProjectName("Proyecto de ejemplo");
+        task.setCreatedBy("usuario" + (i % 5));
+        task.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(i * 37L).plusNanos(i * 1_000L));
+        task.setDueDate(i % 2 == 0 ? null : LocalDateTime.of(2025, 3, 1, 18, 0).plusDays(i % 30));
+        task.setRank("m" + Integer.toString(i, 36));
+        List<LabelResponse> labels = new ArrayList<>();
+        for (int l = 0; l < i % 4; l++) {
+            LabelResponse label = new LabelResponse();
+            label.setId((long) l);
+            label.setName("etiqueta-" + l);
+            label.setColor("#33669" + l);
+            label.setProjectId(1L);
+            labels.add(label);
+        }
+        task.setLabels(labels);
+        return task;
+    }
+
+    // Mismos datos en la forma de ?view=normalized: ids en las tareas y tablas laterales
+    private static NormalizedTaskListResponse normalize(List<TaskResponse> tasks) {
+        Map<String, Long> userIds = new HashMap<>();
+        Map<Long, String> users = new LinkedHashMap<>();
+        Map<Long, LabelResponse> labels = new LinkedHashMap<>();
+        List<NormalizedTaskResponse> normalized = new ArrayList<>(tasks.size());
+        for (TaskResponse task : tasks) {
+            NormalizedTaskResponse row = new NormalizedTaskResponse();
+            row.setId(task.getId());
+            row.setVersion(task.getVersion());
+            row.setTitle(task.getTitle());
+            row.setDescription(task.getDescription());
+            row.setStatus(task.getStatus());
+            row.setPriority(task.getPriority());
+            row.setProjectId(1L);
+            row.setAssignedToId(task.getAssignedTo() == null ? null
+                    : userIds.computeIfAbsent(task.getAssignedTo(), name -> (long) userIds.size() + 1));
+            row.setCreatedById(userIds.computeIfAbsent(task.getCreatedBy(), name -> (long) userIds.size() + 1));
+            row.setCreatedAt(task.getCreatedAt());
+            row.setDueDate(task.getDueDate());
+            row.setRank(task.getRank());
+            List<Long> labelIds = new ArrayList<>();
+            for (LabelResponse label : task.getLabels()) {
+                labelIds.add(label.getId());
+                labels.putIfAbsent(label.getId(), label);
+            }
+            row.setLabelIds(labelIds);
+            normalized.add(row);
+        }
+        userIds.forEach((name, id) -> users.put(id, name));
+
+        NormalizedTaskListResponse response = new NormalizedTaskListResponse();
+        response.setTasks(normalized);
+        response.setUsers(users);
+        response.setProjects(Map.of(1L, "Proyecto de ejemplo"));
+        response.setLabels(labels);
+        return response;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.davivienda.projectapp.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Avisa al arrancar si el pool de conexiones es más pequeño que los hilos que pueden pedir una a la vez
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataSourcePoolValidator {
+    private final DataSource dataSource;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int serverThreads;
+
+    @Value("${spring.task.scheduling.pool.size:1}")
+    private int schedulingThreads;
+
+    @Value("${spring.jpa.open-in-view:true}")
+    private boolean openInView;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validate() {
+        HikariDataSource hikari;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return;
+            }
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            return;
+        }
+        String warning = undersizedWarning(hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+        if (warning != null) {
+            log.warn(warning);
+        } else {
+            log.info("Pool de conexiones: {} conexiones para {} hilos de Tomcat y {} del planificador",
+                    hikari.getMaximumPoolSize(), serverThreads, schedulingThreads);
+        }
+    }
+
+    // Con open-in-view cada hilo de Tomcat que toca la base retiene su conexión hasta terminar la petición;
+    // sin él solo se retiene durante las transacciones y no hay un mínimo fijo que comprobar
+    String undersizedWarning(int maxPoolSize, long connectionTimeoutMs) {
+        if (!openInView || maxPoolSize >= serverThreads + schedulingThreads) {
+            return null;
+        }
+        return String.format("Pool de conexiones pequeño: maximum-pool-size=%d para %d hilos de Tomcat y %d del "
+                        + "planificador; con carga las peticiones esperarán hasta %d ms por una conexión. Ajusta "
+                        + "spring.datasource.hikari.maximum-pool-size o server.tomcat.threads.max (perfil db-tuned)",
+                maxPoolSize, serverThreads, schedulingThreads, connectionTimeoutMs);
+    }
+}
@@ -0,0 +1,70 @@
+package com.davivienda.projectapp.config;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+// Escribe LocalDateTime con el mismo texto que DateTimeFormatter.ISO_LOCAL_DATE_TIME (el formato por defecto de
+// Jackson) pero compone los dígitos directamente en un char[] en lugar de recorrer el formateador campo a campo
+public class IsoLocalDateTimeSerializer extends LocalDateTimeSerializer {
+
+    public static final IsoLocalDateTimeSerializer INSTANCE = new IsoLocalDateTimeSerializer();
+
+    private static final int MAX_LENGTH = "yyyy-MM-ddTHH:mm:ss.nnnnnnnnn".length();
+
+    protected IsoLocalDateTimeSerializer() {
+        super();
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        // Con WRITE_DATES_AS_TIMESTAMPS activo se mantiene el formato de array de Jackson
+        if (useTimestamp(provider) || value.getYear() < 0 || value.getYear() > 9999) {
+            super.serialize(value, generator, provider);
+            return;
+        }
+        char[] buffer = new char[MAX_LENGTH];
+        int length = format(value, buffer);
+        generator.writeString(buffer, 0, length);
+    }
+
+    // Años de 0 a 9999; fuera de ese rango ISO_LOCAL_DATE_TIME añade signo y más dígitos
+    static int format(LocalDateTime value, char[] buffer) {
+        int pos = digits(value.getYear(), 4, buffer, 0);
+        buffer[pos++] = '-';
+        pos = digits(value.getMonthValue(), 2, buffer, pos);
+        buffer[pos++] = '-';
+        pos = digits(value.getDayOfMonth(), 2, buffer, pos);
+        buffer[pos++] = 'T';
+        pos = digits(value.getHour(), 2, buffer, pos);
+        buffer[pos++] = ':';
+        pos = digits(value.getMinute(), 2, buffer, pos);
+        buffer[pos++] = ':';
+        pos = digits(value.getSecond(), 2, buffer, pos);
+
+        // Fracción sin ceros finales, como appendFraction(NANO_OF_SECOND, 0, 9, true)
+        int nano = value.getNano();
+        if (nano > 0) {
+            buffer[pos++] = '.';
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            pos = digits(nano, width, buffer, pos);
+        }
+        return pos;
+    }
+
+    private static int digits(int value, int width, char[] buffer, int pos) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
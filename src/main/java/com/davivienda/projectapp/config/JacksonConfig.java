@@ -0,0 +1,51 @@
+package com.davivienda.projectapp.config;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// Serialización de las respuestas: accesores generados, fechas sin DateTimeFormatter y CBOR/Smile por Accept
+@Configuration
+public class JacksonConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fastSerializationCustomizer() {
+        return JacksonConfig::tune;
+    }
+
+    // Los convertidores parten del mismo builder que el ObjectMapper JSON, así comparten módulos y ajustes.
+    // Spring MVC los coloca detrás del JSON, que sigue siendo el formato cuando Accept no pide otro
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    static void tune(Jackson2ObjectMapperBuilder builder) {
+        builder.serializerByType(LocalDateTime.class, IsoLocalDateTimeSerializer.INSTANCE);
+        // Blackbird sustituye la reflexión de getters y setters por lambdas generadas; en la imagen nativa no se
+        // puede generar bytecode en tiempo de ejecución y se mantiene la reflexión
+        builder.postConfigurer(mapper -> {
+            if (!NativeDetector.inNativeImage()) {
+                mapper.registerModule(new BlackbirdModule());
+            }
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.davivienda.projectapp.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+
+@Configuration
+public class LazyInitConfig {
+
+    // Con spring.main.lazy-initialization (perfil faststart) un bean que nadie inyecta no se crea
+    // nunca y sus @Scheduled no se registran; los trabajos en segundo plano se crean al arrancar
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        Map<Method, Scheduled> methods = MethodIntrospector.selectMethods(ClassUtils.getUserClass(beanType),
+                (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class));
+        return !methods.isEmpty();
+    }
+}
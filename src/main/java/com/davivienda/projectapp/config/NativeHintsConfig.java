@@ -0,0 +1,75 @@
+package com.davivienda.projectapp.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ClassUtils;
+
+// Pistas para la imagen nativa (perfil Maven native) de lo que Spring AOT no deduce por sí solo
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ProjectappRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static final String MODEL_PACKAGE = "com.davivienda.projectapp.model";
+    static final String DTO_PACKAGE = "com.davivienda.projectapp.dto";
+
+    // jjwt-api instancia su implementación por nombre y busca el serializador Jackson con ServiceLoader
+    static final String[] JJWT_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    static class ProjectappRuntimeHints implements RuntimeHintsRegistrar {
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Entidades, enums e @IdClass: Hibernate accede por reflexión a campos y constructores,
+            // también en las consultas nativas y en los arrays de project_summaries
+            for (Class<?> type : scan(MODEL_PACKAGE, classLoader)) {
+                hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+
+            // DTOs: algunos endpoints devuelven ResponseEntity<?> y AOT no ve el tipo real del cuerpo
+            for (Class<?> type : scan(DTO_PACKAGE, classLoader)) {
+                bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+            }
+        }
+
+        private static List<Class<?>> scan(String basePackage, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+            provider.setResourceLoader(new DefaultResourceLoader(classLoader));
+            provider.addIncludeFilter((reader, factory) -> true);
+            List<Class<?>> types = new ArrayList<>();
+            for (BeanDefinition candidate : provider.findCandidateComponents(basePackage)) {
+                types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+            return types;
+        }
+    }
+}
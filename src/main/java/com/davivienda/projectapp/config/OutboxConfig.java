@@ -0,0 +1,20 @@
+package com.davivienda.projectapp.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.davivienda.projectapp.event.ApplicationEventOutboxSink;
+import com.davivienda.projectapp.event.OutboxSink;
+
+@Configuration
+public class OutboxConfig {
+
+    // Se reemplaza declarando otro bean OutboxSink (cola de mensajes, índice de búsqueda, etc.)
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(ApplicationEventPublisher eventPublisher) {
+        return new ApplicationEventOutboxSink(eventPublisher);
+    }
+}
@@ -0,0 +1,83 @@
+package com.davivienda.projectapp.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Envía las transacciones readOnly a la réplica salvo que el usuario acabe de escribir o la réplica vaya retrasada.
+// Va detrás de un LazyConnectionDataSourceProxy: la conexión real se pide en la primera sentencia, cuando
+// TransactionSynchronizationManager ya sabe si la transacción es de solo lectura
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor,
+                                      ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.primaryRoutes = Counter.builder("datasource.route").tag("target", "primary")
+                .description("Conexiones entregadas por destino").register(meterRegistry);
+        this.replicaRoutes = Counter.builder("datasource.route").tag("target", "replica")
+                .description("Conexiones entregadas por destino").register(meterRegistry);
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, lagMonitor.getDataSource()));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = route();
+        (route == Route.REPLICA ? replicaRoutes : primaryRoutes).increment();
+        return route;
+    }
+
+    Route route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // La ventana de read-your-writes empieza cuando la escritura es visible, es decir, al confirmar
+            if (username != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.recordWrite(username);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+        if (username != null && readYourWrites.recentlyWrote(username)) {
+            return Route.PRIMARY;
+        }
+        return lagMonitor.isHealthy() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
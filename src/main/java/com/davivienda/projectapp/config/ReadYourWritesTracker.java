@@ -0,0 +1,43 @@
+package com.davivienda.projectapp.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// Recuerda la última escritura confirmada de cada usuario; mientras dura la ventana sus lecturas van al primario
+public class ReadYourWritesTracker {
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowMs;
+    private final LongSupplier clock;
+
+    public ReadYourWritesTracker(long windowMs) {
+        this(windowMs, System::currentTimeMillis);
+    }
+
+    ReadYourWritesTracker(long windowMs, LongSupplier clock) {
+        this.windowMs = windowMs;
+        this.clock = clock;
+    }
+
+    public void recordWrite(String username) {
+        long now = clock.getAsLong();
+        lastWrites.put(username, now);
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowMs);
+        }
+    }
+
+    public boolean recentlyWrote(String username) {
+        Long writtenAt = lastWrites.get(username);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (clock.getAsLong() - writtenAt < windowMs) {
+            return true;
+        }
+        lastWrites.remove(username, writtenAt);
+        return false;
+    }
+}
@@ -0,0 +1,79 @@
+package com.davivienda.projectapp.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Dueño del pool de la réplica: mide su retraso y decide si se le pueden mandar lecturas.
+// El pool no se publica como bean para que una réplica caída no marque la instancia como DOWN en /actuator/health
+@Slf4j
+public class ReplicaLagMonitor {
+    // Sin réplica (pg_is_in_recovery() = false) no hay retraso que medir
+    static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final HikariDataSource replica;
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxLagMs;
+
+    // -1 mientras no haya una medición válida; hasta entonces las lecturas van al primario
+    private final AtomicLong lagMs = new AtomicLong(-1);
+    private volatile boolean healthy;
+
+    public ReplicaLagMonitor(HikariDataSource replica, long maxLagMs, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("datasource.replica.lag", lagMs, AtomicLong::get)
+                .description("Retraso de la réplica (-1 si no responde)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        try {
+            Double lag = jdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            update(lag != null ? lag.longValue() : 0);
+        } catch (RuntimeException e) {
+            if (healthy) {
+                log.warn("Réplica no disponible, las lecturas vuelven al primario: {}", e.getMessage());
+            }
+            lagMs.set(-1);
+            healthy = false;
+        }
+    }
+
+    void update(long measuredLagMs) {
+        boolean nowHealthy = measuredLagMs <= maxLagMs;
+        if (healthy && !nowHealthy) {
+            log.warn("Retraso de la réplica {} ms (máximo {} ms), las lecturas vuelven al primario", measuredLagMs, maxLagMs);
+        } else if (!healthy && nowHealthy) {
+            log.info("Réplica al día ({} ms), se le envían las transacciones de solo lectura", measuredLagMs);
+        }
+        lagMs.set(measuredLagMs);
+        healthy = nowHealthy;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public HikariDataSource getDataSource() {
+        return replica;
+    }
+
+    @PreDestroy
+    public void close() {
+        replica.close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.davivienda.projectapp.config;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.RequiredArgsConstructor;
+
+// Negociación de formato para las respuestas escritas en streaming, que no pasan por los HttpMessageConverter
+@Component
+@RequiredArgsConstructor
+public class StreamingFormats {
+
+    static final List<MediaType> SUPPORTED = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, JacksonConfig.APPLICATION_SMILE);
+
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    // Primer formato soportado según la calidad de la cabecera Accept; null si no se acepta ninguno.
+    // Una cabecera mal formada lanza InvalidMediaTypeException (IllegalArgumentException)
+    public MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType supported : SUPPORTED) {
+                if (type.includes(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return null;
+    }
+
+    public ObjectWriter writerFor(MediaType format, Class<?> type) {
+        return mapperFor(format).writerFor(type);
+    }
+
+    private ObjectMapper mapperFor(MediaType format) {
+        if (MediaType.APPLICATION_CBOR.equals(format)) {
+            return cborConverter.getObjectMapper();
+        }
+        if (JacksonConfig.APPLICATION_SMILE.equals(format)) {
+            return smileConverter.getObjectMapper();
+        }
+        return objectMapper;
+    }
+}
@@ -0,0 +1,59 @@
+package com.davivienda.projectapp.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.davivienda.projectapp.dto.CumulativeFlowResponse;
+import com.davivienda.projectapp.dto.FlowMetricsResponse;
+import com.davivienda.projectapp.service.ProjectFlowService;
+import com.davivienda.projectapp.service.TaskAnalyticsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@Tag(name = "Analytics", description = "Endpoints for project flow analytics")
+@RestController
+@RequestMapping("/api/projects/{projectId}/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final TaskAnalyticsService taskAnalyticsService;
+    private final ProjectFlowService projectFlowService;
+
+    @Operation(summary = "Get flow metrics", description = "Retrieves throughput, cycle-time and lead-time percentiles per period and time spent in each status for the date range (default: last 90 days, weekly)")
+    @GetMapping("/flow")
+    public ResponseEntity<FlowMetricsResponse> getFlowMetrics(@PathVariable Long projectId,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                              @RequestParam(defaultValue = "week") String period,
+                                                              Authentication authentication) {
+        try {
+            FlowMetricsResponse response = taskAnalyticsService.getFlowMetrics(projectId, from, to, period, authentication.getName());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get cumulative flow", description = "Retrieves one point per day with task counts by status and remaining (not DONE) tasks for burndown and cumulative-flow charts (default: last 30 days)")
+    @GetMapping("/cumulative-flow")
+    public ResponseEntity<CumulativeFlowResponse> getCumulativeFlow(@PathVariable Long projectId,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                    Authentication authentication) {
+        try {
+            CumulativeFlowResponse response = projectFlowService.getCumulativeFlow(projectId, from, to, authentication.getName());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
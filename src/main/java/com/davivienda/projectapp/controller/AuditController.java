@@ -0,0 +1,41 @@
+package com.davivienda.projectapp.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.davivienda.projectapp.dto.AuditPageResponse;
+import com.davivienda.projectapp.service.AuditService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@Tag(name = "Audit", description = "Endpoints for the project audit trail")
+@RestController
+@RequestMapping("/api/projects/{projectId}/audit")
+@RequiredArgsConstructor
+public class AuditController {
+    private final AuditService auditService;
+
+    @Operation(summary = "Get project audit trail", description = "Retrieves audit entries of the project, newest first, optionally for a single entity; use nextCursor as 'before' for the next page")
+    @GetMapping
+    public ResponseEntity<AuditPageResponse> getProjectAudit(@PathVariable Long projectId,
+                                                             @RequestParam(required = false) String entityType,
+                                                             @RequestParam(required = false) Long entityId,
+                                                             @RequestParam(required = false) Long before,
+                                                             @RequestParam(defaultValue = "50") int limit,
+                                                             Authentication authentication) {
+        try {
+            AuditPageResponse response = auditService.getProjectAudit(projectId, entityType, entityId, before, limit,
+                    authentication.getName());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
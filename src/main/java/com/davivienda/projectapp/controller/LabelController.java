@@ -16,7 +16,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.davivienda.projectapp.dto.LabelRequest;
 import com.davivienda.projectapp.dto.LabelResponse;
+import com.davivienda.projectapp.dto.LabelUsageResponse;
 import com.davivienda.projectapp.service.LabelService;
+import com.davivienda.projectapp.service.LabelUsageService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -28,8 +30,9 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LabelController {
     private final LabelService labelService;
+    private final LabelUsageService labelUsageService;
 
-    @Operation(summary = "Create a new label", description = "Creates a new label")
+    @Operation(summary = "Create a new label", description = "Creates a project label when projectId is given, otherwise a global label")
     @PostMapping
     public ResponseEntity<LabelResponse> createLabel(@RequestBody LabelRequest request, Authentication authentication) {
         try {
@@ -51,7 +54,7 @@ public class LabelController {
         }
     }
 
-    @Operation(summary = "Get all labels", description = "Retrieves all available labels")
+    @Operation(summary = "Get global labels", description = "Retrieves the labels that are not scoped to a project")
     @GetMapping
     public ResponseEntity<List<LabelResponse>> getAllLabels(Authentication authentication) {
         try {
@@ -62,7 +65,7 @@ public class LabelController {
         }
     }
 
-    @Operation(summary = "Get project labels", description = "Retrieves labels available for a specific project")
+    @Operation(summary = "Get project labels", description = "Retrieves the project labels plus the global labels")
     @GetMapping("/project/{projectId}")
     public ResponseEntity<List<LabelResponse>> getProjectLabels(@PathVariable Long projectId, Authentication authentication) {
         try {
@@ -73,6 +76,17 @@ public class LabelController {
         }
     }
 
+    @Operation(summary = "Get project label usage", description = "Retrieves task counts per label, split by status, for a project")
+    @GetMapping("/project/{projectId}/usage")
+    public ResponseEntity<List<LabelUsageResponse>> getProjectLabelUsage(@PathVariable Long projectId, Authentication authentication) {
+        try {
+            List<LabelUsageResponse> usage = labelUsageService.getProjectLabelUsage(projectId, authentication.getName());
+            return ResponseEntity.ok(usage);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Update label", description = "Updates a label")
     @PutMapping("/{labelId}")
     public ResponseEntity<LabelResponse> updateLabel(@PathVariable Long labelId, 
@@ -2,21 +2,28 @@ package com.davivienda.projectapp.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.davivienda.projectapp.dto.ProjectRequest;
 import com.davivienda.projectapp.dto.ProjectResponse;
 import com.davivienda.projectapp.service.ProjectService;
+import com.davivienda.projectapp.util.ETags;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -45,7 +52,7 @@ public class ProjectController {
     public ResponseEntity<ProjectResponse> getProject(@PathVariable Long projectId, Authentication authentication) {
         try {
             ProjectResponse response = projectService.getProject(projectId, authentication.getName());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -62,6 +69,17 @@ public class ProjectController {
         }
     }
 
+    @Operation(summary = "Get user's archived projects", description = "Retrieves archived projects where the user is a member")
+    @GetMapping("/archived")
+    public ResponseEntity<List<ProjectResponse>> getArchivedProjects(Authentication authentication) {
+        try {
+            List<ProjectResponse> projects = projectService.getArchivedProjects(authentication.getName());
+            return ResponseEntity.ok(projects);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Update project", description = "Updates a project if user has edit permissions")
     @PutMapping("/{projectId}")
     public ResponseEntity<ProjectResponse> updateProject(@PathVariable Long projectId, 
@@ -69,7 +87,25 @@ public class ProjectController {
                                                        Authentication authentication) {
         try {
             ProjectResponse response = projectService.updateProject(projectId, request, authentication.getName());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Patch project", description = "Applies a JSON merge patch; If-Match or a version field enables the optimistic concurrency check")
+    @PatchMapping(value = "/{projectId}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<ProjectResponse> patchProject(@PathVariable Long projectId,
+                                                      @RequestBody JsonNode patch,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      Authentication authentication) {
+        try {
+            ProjectResponse response = projectService.patchProject(projectId, patch, ETags.parseVersion(ifMatch), authentication.getName());
+            return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
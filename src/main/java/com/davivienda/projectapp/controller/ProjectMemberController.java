@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.davivienda.projectapp.dto.MemberWorkloadResponse;
 import com.davivienda.projectapp.dto.ProjectMemberRequest;
 import com.davivienda.projectapp.dto.ProjectMemberResponse;
 import com.davivienda.projectapp.model.ProjectRole;
@@ -55,6 +56,18 @@ public class ProjectMemberController {
         }
     }
 
+    @Operation(summary = "Get member workload", description = "Retrieves open task counts and priority-weighted load per member, including members without tasks")
+    @GetMapping("/workload")
+    public ResponseEntity<List<MemberWorkloadResponse>> getMemberWorkload(@PathVariable Long projectId,
+                                                                        Authentication authentication) {
+        try {
+            List<MemberWorkloadResponse> workload = projectMemberService.getMemberWorkload(projectId, authentication.getName());
+            return ResponseEntity.ok(workload);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Update member role", description = "Updates the role of a project member")
     @PutMapping("/{memberUsername}/role")
     public ResponseEntity<ProjectMemberResponse> updateMemberRole(@PathVariable Long projectId, 
@@ -1,22 +1,42 @@
 package com.davivienda.projectapp.controller;
 
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.davivienda.projectapp.config.StreamingFormats;
+import com.davivienda.projectapp.dto.BoardColumnResponse;
+import com.davivienda.projectapp.dto.BoardResponse;
+import com.davivienda.projectapp.dto.BulkLabelRequest;
+import com.davivienda.projectapp.dto.DashboardResponse;
+import com.davivienda.projectapp.dto.MoveTaskRequest;
+import com.davivienda.projectapp.dto.NormalizedTaskListResponse;
 import com.davivienda.projectapp.dto.TaskRequest;
 import com.davivienda.projectapp.dto.TaskResponse;
+import com.davivienda.projectapp.model.TaskStatus;
 import com.davivienda.projectapp.service.TaskService;
+import com.davivienda.projectapp.util.ETags;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -28,6 +48,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final StreamingFormats streamingFormats;
 
     @Operation(summary = "Create a new task", description = "Creates a new task in a project")
     @PostMapping
@@ -45,7 +66,7 @@ public class TaskController {
     public ResponseEntity<TaskResponse> getTask(@PathVariable Long taskId, Authentication authentication) {
         try {
             TaskResponse response = taskService.getTask(taskId, authentication.getName());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -62,6 +83,83 @@ public class TaskController {
         }
     }
 
+    @Operation(summary = "Get project tasks (normalized)",
+            description = "Same tasks as the default view, referencing users, labels and the project by id with each one listed once in side tables")
+    @GetMapping(value = "/project/{projectId}", params = "view=normalized")
+    public ResponseEntity<NormalizedTaskListResponse> getProjectTasksNormalized(@PathVariable Long projectId,
+                                                                                Authentication authentication) {
+        try {
+            return ResponseEntity.ok(taskService.getProjectTasksNormalized(projectId, authentication.getName()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Stream project tasks",
+            description = "Writes all tasks in a project as a single array while they are loaded; JSON, CBOR or Smile depending on the Accept header")
+    @GetMapping("/project/{projectId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamProjectTasks(@PathVariable Long projectId,
+                                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                                    Authentication authentication) {
+        try {
+            MediaType format = streamingFormats.negotiate(accept);
+            if (format == null) {
+                return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+            }
+            String username = authentication.getName();
+            taskService.checkCanViewProjectTasks(projectId, username);
+
+            ObjectWriter writer = streamingFormats.writerFor(format, TaskResponse.class);
+            StreamingResponseBody body = out -> {
+                try (SequenceWriter array = writer.writeValuesAsArray(out)) {
+                    taskService.writeProjectTasks(projectId, username, array);
+                }
+            };
+            return ResponseEntity.ok().contentType(format).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get project board", description = "Retrieves each status column with its total and first cards")
+    @GetMapping("/project/{projectId}/board")
+    public ResponseEntity<BoardResponse> getProjectBoard(@PathVariable Long projectId,
+                                                         @RequestParam(defaultValue = "20") int limit,
+                                                         Authentication authentication) {
+        try {
+            BoardResponse board = taskService.getProjectBoard(projectId, limit, authentication.getName());
+            return ResponseEntity.ok(board);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get board column page", description = "Retrieves the next cards of one status column after the given cursor")
+    @GetMapping("/project/{projectId}/board/{status}")
+    public ResponseEntity<BoardColumnResponse> getBoardColumn(@PathVariable Long projectId,
+                                                              @PathVariable TaskStatus status,
+                                                              @RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "20") int limit,
+                                                              Authentication authentication) {
+        try {
+            BoardColumnResponse column = taskService.getBoardColumn(projectId, status, after, limit, authentication.getName());
+            return ResponseEntity.ok(column);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get archived project tasks", description = "Retrieves archived tasks of a project, including archived projects")
+    @GetMapping("/project/{projectId}/archived")
+    public ResponseEntity<List<TaskResponse>> getArchivedProjectTasks(@PathVariable Long projectId, Authentication authentication) {
+        try {
+            List<TaskResponse> tasks = taskService.getArchivedProjectTasks(projectId, authentication.getName());
+            return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Get user's assigned tasks", description = "Retrieves all tasks assigned to the authenticated user")
     @GetMapping("/my-tasks")
     public ResponseEntity<List<TaskResponse>> getUserTasks(Authentication authentication) {
@@ -73,6 +171,29 @@ public class TaskController {
         }
     }
 
+    @Operation(summary = "Get user's assigned tasks (normalized)",
+            description = "Assigned tasks referencing users, labels and projects by id, each listed once in side tables")
+    @GetMapping(value = "/my-tasks", params = "view=normalized")
+    public ResponseEntity<NormalizedTaskListResponse> getUserTasksNormalized(Authentication authentication) {
+        try {
+            return ResponseEntity.ok(taskService.getUserTasksNormalized(authentication.getName()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get user's dashboard", description = "Retrieves the user's assigned task counts per project by status, priority and overdue state, plus the next due tasks")
+    @GetMapping("/my-dashboard")
+    public ResponseEntity<DashboardResponse> getUserDashboard(@RequestParam(defaultValue = "10") int upcoming,
+                                                              Authentication authentication) {
+        try {
+            DashboardResponse response = taskService.getUserDashboard(authentication.getName(), upcoming);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Update task", description = "Updates a task if user has edit permissions")
     @PutMapping("/{taskId}")
     public ResponseEntity<TaskResponse> updateTask(@PathVariable Long taskId, 
@@ -80,7 +201,51 @@ public class TaskController {
                                                  Authentication authentication) {
         try {
             TaskResponse response = taskService.updateTask(taskId, request, authentication.getName());
+            return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Patch task", description = "Applies a JSON merge patch; If-Match or a version field enables the optimistic concurrency check")
+    @PatchMapping(value = "/{taskId}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<TaskResponse> patchTask(@PathVariable Long taskId,
+                                                @RequestBody JsonNode patch,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                Authentication authentication) {
+        try {
+            TaskResponse response = taskService.patchTask(taskId, patch, ETags.parseVersion(ifMatch), authentication.getName());
+            return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Move task on the board", description = "Places a task between two cards of a status column, rewriting only the moved task")
+    @PutMapping("/{taskId}/move")
+    public ResponseEntity<TaskResponse> moveTask(@PathVariable Long taskId,
+                                                 @RequestBody MoveTaskRequest request,
+                                                 Authentication authentication) {
+        try {
+            TaskResponse response = taskService.moveTask(taskId, request, authentication.getName());
             return ResponseEntity.ok(response);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Bulk add or remove a label", description = "Adds or removes one label on many tasks of a project in a single statement")
+    @PostMapping("/labels/bulk")
+    public ResponseEntity<Map<String, Integer>> bulkUpdateLabel(@RequestBody BulkLabelRequest request, Authentication authentication) {
+        try {
+            int affected = taskService.bulkUpdateLabel(request, authentication.getName());
+            return ResponseEntity.ok(Map.of("affected", affected));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -0,0 +1,17 @@
+package com.davivienda.projectapp.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class AuditEntryResponse {
+    private Long id;
+    private String entityType;
+    private Long entityId;
+    private String action;
+    private String username;
+    private Map<String, Object> changes;
+    private LocalDateTime createdAt;
+}
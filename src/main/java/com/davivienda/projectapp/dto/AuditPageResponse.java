@@ -0,0 +1,12 @@
+package com.davivienda.projectapp.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class AuditPageResponse {
+    private List<AuditEntryResponse> entries;
+    // Id de la última entrada devuelta cuando hay más; se envía como before en la siguiente página
+    private Long nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.davivienda.projectapp.dto;
+
+import java.util.List;
+
+import com.davivienda.projectapp.model.TaskStatus;
+
+import lombok.Data;
+
+@Data
+public class BoardColumnResponse {
+    private TaskStatus status;
+    private long total;
+    private List<TaskResponse> tasks;
+    // Cursor opaco con la posición de la última tarjeta devuelta cuando la columna tiene más; null si no hay más
+    private String nextCursor;
+}
@@ -0,0 +1,11 @@
+package com.davivienda.projectapp.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BoardResponse {
+    private Long projectId;
+    private List<BoardColumnResponse> columns;
+}
@@ -0,0 +1,18 @@
+package com.davivienda.projectapp.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BulkLabelRequest {
+    private Long projectId;
+    private Long labelId;
+    private List<Long> taskIds;
+    private Action action;
+
+    public enum Action {
+        ADD,
+        REMOVE
+    }
+}
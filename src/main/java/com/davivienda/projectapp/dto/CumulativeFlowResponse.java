@@ -0,0 +1,13 @@
+package com.davivienda.projectapp.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class CumulativeFlowResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private List<DailyStatusPoint> points;
+}
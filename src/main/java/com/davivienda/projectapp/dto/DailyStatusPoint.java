@@ -0,0 +1,17 @@
+package com.davivienda.projectapp.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.davivienda.projectapp.model.TaskStatus;
+
+import lombok.Data;
+
+// Tareas por estado al final del día; remaining (todo lo que no está en DONE) es la curva del burndown
+@Data
+public class DailyStatusPoint {
+    private LocalDate day;
+    private Map<TaskStatus, Long> byStatus;
+    private long total;
+    private long remaining;
+}
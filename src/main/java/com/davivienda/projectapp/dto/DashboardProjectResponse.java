@@ -0,0 +1,19 @@
+package com.davivienda.projectapp.dto;
+
+import java.util.Map;
+
+import com.davivienda.projectapp.model.TaskPriority;
+import com.davivienda.projectapp.model.TaskStatus;
+
+import lombok.Data;
+
+@Data
+public class DashboardProjectResponse {
+    private Long projectId;
+    private String projectName;
+    private long total;
+    // Tareas no terminadas con fecha de vencimiento pasada
+    private long overdue;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<TaskPriority, Long> byPriority;
+}
@@ -0,0 +1,13 @@
+package com.davivienda.projectapp.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class DashboardResponse {
+    private long total;
+    private long overdue;
+    private List<DashboardProjectResponse> projects;
+    private List<TaskResponse> upcomingTasks;
+}
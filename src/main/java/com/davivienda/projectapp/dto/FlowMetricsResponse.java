@@ -0,0 +1,15 @@
+package com.davivienda.projectapp.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class FlowMetricsResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private String period;
+    private List<FlowPeriodResponse> periods;
+    private List<StatusTimeResponse> timeInStatus;
+}
@@ -0,0 +1,17 @@
+package com.davivienda.projectapp.dto;
+
+import java.time.LocalDate;
+
+import lombok.Data;
+
+// Percentiles en horas; cycle time es null si ninguna tarea del periodo pasó por IN_PROGRESS
+@Data
+public class FlowPeriodResponse {
+    private LocalDate periodStart;
+    private long throughput;
+    private Double cycleTimeP50Hours;
+    private Double cycleTimeP85Hours;
+    private Double cycleTimeP95Hours;
+    private Double leadTimeP50Hours;
+    private Double leadTimeP85Hours;
+}
@@ -7,4 +7,5 @@ public class LabelResponse {
     private Long id;
     private String name;
     private String color;
-} 
\ No newline at end of file
+    private Long projectId;
+}
@@ -0,0 +1,16 @@
+package com.davivienda.projectapp.dto;
+
+import java.util.Map;
+
+import com.davivienda.projectapp.model.TaskStatus;
+
+import lombok.Data;
+
+@Data
+public class LabelUsageResponse {
+    private Long labelId;
+    private String name;
+    private String color;
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+}
@@ -0,0 +1,20 @@
+package com.davivienda.projectapp.dto;
+
+import java.util.Map;
+
+import com.davivienda.projectapp.model.ProjectRole;
+import com.davivienda.projectapp.model.TaskPriority;
+import com.davivienda.projectapp.model.TaskStatus;
+
+import lombok.Data;
+
+@Data
+public class MemberWorkloadResponse {
+    private String username;
+    private ProjectRole role;
+    private long openTasks;
+    // Carga estimada: tareas abiertas ponderadas por prioridad
+    private long load;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<TaskPriority, Long> byPriority;
+}
@@ -0,0 +1,14 @@
+package com.davivienda.projectapp.dto;
+
+import com.davivienda.projectapp.model.TaskStatus;
+
+import lombok.Data;
+
+@Data
+public class MoveTaskRequest {
+    // Columna destino; si es null la tarea se reordena dentro de su columna actual
+    private TaskStatus status;
+    // Tarjetas que quedan inmediatamente antes y después; ambas null mueve la tarea al final
+    private Long previousTaskId;
+    private Long nextTaskId;
+}
@@ -0,0 +1,17 @@
+package com.davivienda.projectapp.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+// Listado ?view=normalized: cada usuario, proyecto y etiqueta aparece una sola vez en su tabla lateral
+@Data
+public class NormalizedTaskListResponse {
+    private List<NormalizedTaskResponse> tasks;
+    // id -> username
+    private Map<Long, String> users;
+    // id -> nombre
+    private Map<Long, String> projects;
+    private Map<Long, LabelResponse> labels;
+}
@@ -0,0 +1,27 @@
+package com.davivienda.projectapp.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.davivienda.projectapp.model.TaskPriority;
+import com.davivienda.projectapp.model.TaskStatus;
+
+import lombok.Data;
+
+// Tarea de la vista normalizada: usuarios, proyecto y etiquetas por id (ver NormalizedTaskListResponse)
+@Data
+public class NormalizedTaskResponse {
+    private Long id;
+    private Long version;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private Long projectId;
+    private Long assignedToId;
+    private Long createdById;
+    private LocalDateTime createdAt;
+    private LocalDateTime dueDate;
+    private String rank;
+    private List<Long> labelIds;
+}
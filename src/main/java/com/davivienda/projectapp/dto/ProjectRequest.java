@@ -9,4 +9,6 @@ public class ProjectRequest {
     private String name;
     private String description;
     private ProjectStatus status;
-} 
\ No newline at end of file
+    // Versión leída por el cliente; si se envía y no coincide la actualización falla con 409
+    private Long version;
+}
@@ -2,20 +2,25 @@ package com.davivienda.projectapp.dto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import com.davivienda.projectapp.model.ProjectStatus;
+import com.davivienda.projectapp.model.TaskStatus;
 
 import lombok.Data;
 
 @Data
 public class ProjectResponse {
     private Long id;
+    private Long version;
     private String name;
     private String description;
     private ProjectStatus status;
     private String createdBy;
     private LocalDateTime createdAt;
+    private LocalDateTime lastActivityAt;
     private int taskCount;
+    private Map<TaskStatus, Integer> taskCountsByStatus;
     private int memberCount;
     private List<String> members;
 } 
\ No newline at end of file
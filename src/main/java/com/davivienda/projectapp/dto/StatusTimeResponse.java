@@ -0,0 +1,14 @@
+package com.davivienda.projectapp.dto;
+
+import com.davivienda.projectapp.model.TaskStatus;
+
+import lombok.Data;
+
+@Data
+public class StatusTimeResponse {
+    private TaskStatus status;
+    private long samples;
+    private Double averageHours;
+    private Double p50Hours;
+    private Double p85Hours;
+}
@@ -18,4 +18,6 @@ public class TaskRequest {
     private Long projectId;
     private LocalDateTime dueDate;
     private List<Long> labelIds;
-} 
\ No newline at end of file
+    // Versión leída por el cliente; si se envía y no coincide la actualización falla con 409
+    private Long version;
+}
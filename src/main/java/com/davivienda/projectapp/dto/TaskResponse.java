@@ -9,6 +9,7 @@ import java.util.List;
 @Data
 public class TaskResponse {
     private Long id;
+    private Long version;
     private String title;
     private String description;
     private TaskStatus status;
@@ -18,5 +19,6 @@ public class TaskResponse {
     private String createdBy;
     private LocalDateTime createdAt;
     private LocalDateTime dueDate;
+    private String rank;
     private List<LabelResponse> labels;
 } 
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.davivienda.projectapp.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import lombok.RequiredArgsConstructor;
+
+// Sink por defecto: entrega los eventos a los @EventListener de la propia aplicación
+@RequiredArgsConstructor
+public class ApplicationEventOutboxSink implements OutboxSink {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(DomainEvent event) {
+        eventPublisher.publishEvent(event);
+    }
+}
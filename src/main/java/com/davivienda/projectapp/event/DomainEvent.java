@@ -0,0 +1,8 @@
+package com.davivienda.projectapp.event;
+
+import java.time.LocalDateTime;
+
+// Evento leído del outbox; payload es el JSON guardado al registrar el cambio
+public record DomainEvent(Long id, String aggregateType, Long aggregateId, String eventType,
+                          String payload, LocalDateTime occurredAt) {
+}
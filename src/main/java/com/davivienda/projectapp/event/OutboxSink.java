@@ -0,0 +1,7 @@
+package com.davivienda.projectapp.event;
+
+// Destino de los eventos del outbox. La entrega es al menos una vez: si publish lanza una excepción
+// el evento se reintenta en la siguiente pasada, así que los consumidores deben tolerar duplicados
+public interface OutboxSink {
+    void publish(DomainEvent event);
+}
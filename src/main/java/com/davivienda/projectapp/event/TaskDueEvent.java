@@ -0,0 +1,12 @@
+package com.davivienda.projectapp.event;
+
+import java.util.List;
+
+// Lote de tareas cuyo recordatorio o vencimiento se cumplió en el mismo tick del planificador
+public record TaskDueEvent(Type type, List<Long> taskIds) {
+
+    public enum Type {
+        REMINDER,
+        OVERDUE
+    }
+}
@@ -0,0 +1,44 @@
+package com.davivienda.projectapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// Registro de auditoría; las filas las inserta AuditService por lotes con JDBC
+@Entity
+@Table(name = "audit_entries", indexes = {
+    @Index(name = "idx_audit_project", columnList = "project_id, id"),
+    @Index(name = "idx_audit_entity", columnList = "entity_type, entity_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    // Proyecto al que pertenece la entidad; null para las labels globales
+    @Column
+    private Long projectId;
+
+    @Column(nullable = false, length = 20)
+    private String action;
+
+    @Column(nullable = false)
+    private String username;
+
+    // JSON {campo: {"old": ..., "new": ...}} con solo los campos que cambiaron
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String changes;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -5,14 +5,21 @@ import lombok.*;
 import java.util.ArrayList;
 import java.util.List;
 
+// La unicidad del nombre de las labels globales (project_id NULL) la da el índice parcial
+// uk_labels_global_name, creado por LabelService al arrancar
 @Entity
-@Table(name = "labels")
+@Table(name = "labels", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_labels_project_name", columnNames = {"project_id", "name"})
+})
 @Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Label {
+    // Igualdad por id: las labels viven en el Set de Task y no deben cargar relaciones al comparar
     @Id
+    @EqualsAndHashCode.Include
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -22,6 +29,13 @@ public class Label {
     @Column(nullable = false)
     private String color;
 
+    // Proyecto al que pertenece la etiqueta; null para etiquetas globales
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id")
+    @ToString.Exclude
+    private Project project;
+
     @ManyToMany(mappedBy = "labels")
+    @ToString.Exclude
     private List<Task> tasks = new ArrayList<>();
-} 
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.davivienda.projectapp.model;
+
+import java.io.Serializable;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Contador de tareas por (proyecto, label, estado), mantenido de forma incremental por TaskService
+@Entity
+@Table(name = "label_usage")
+@IdClass(LabelUsage.LabelUsageId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LabelUsage {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "label_id")
+    private Long labelId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private TaskStatus status;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LabelUsageId implements Serializable {
+        private Long projectId;
+        private Long labelId;
+        private TaskStatus status;
+    }
+}
@@ -2,12 +2,18 @@ package com.davivienda.projectapp.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "projects")
+// Las consultas JPA solo ven proyectos activos; los archivados se leen con consultas nativas explícitas
+@SQLRestriction("archived = false")
+// El UPDATE incluye solo las columnas modificadas, así un PATCH no reescribe la fila completa
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,6 +23,11 @@ public class Project {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Control de concurrencia optimista: una escritura con versión desactualizada falla con 409
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(nullable = false)
     private String name;
 
@@ -34,6 +45,15 @@ public class Project {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    @Column
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean archived;
+
+    @Column
+    private LocalDateTime archivedAt;
+
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Task> tasks = new ArrayList<>();
 
@@ -44,4 +64,9 @@ public class Project {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
     }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.davivienda.projectapp.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Foto diaria de tareas por (proyecto, día, estado) para burndown y cumulative flow. La fila del día
+// se crea copiando el día anterior y TaskService la ajusta con deltas; ProjectFlowService rellena los
+// días sin cambios cada noche
+@Entity
+@Table(name = "project_daily_status")
+@IdClass(ProjectDailyStatus.ProjectDailyStatusId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectDailyStatus {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private TaskStatus status;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProjectDailyStatusId implements Serializable {
+        private Long projectId;
+        private LocalDate day;
+        private TaskStatus status;
+    }
+}
@@ -0,0 +1,81 @@
+package com.davivienda.projectapp.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Modelo de lectura de los listados de proyectos: una fila por proyecto con los datos ya agregados.
+// Solo se escribe con sentencias nativas desde ProjectSummaryService; member_ids lleva un índice GIN
+// (creado al arrancar) para filtrar por miembro sin leer user_projects
+@Entity
+@Immutable
+@Table(name = "project_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectSummary {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProjectStatus status;
+
+    @Column(nullable = false)
+    private String createdByUsername;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private boolean archived;
+
+    @Column
+    private LocalDateTime archivedAt;
+
+    @Column(nullable = false)
+    private int todoCount;
+
+    @Column(nullable = false)
+    private int inProgressCount;
+
+    @Column(nullable = false)
+    private int reviewCount;
+
+    @Column(nullable = false)
+    private int doneCount;
+
+    @Column(nullable = false)
+    private int memberCount;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "member_ids", nullable = false, columnDefinition = "bigint[]")
+    private Long[] memberIds;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "member_usernames", nullable = false, columnDefinition = "text[]")
+    private String[] memberUsernames;
+
+    @Column
+    private LocalDateTime lastActivityAt;
+
+    // Se incrementa con cada cambio del proyecto, sus tareas o sus miembros; clave de las lecturas agrupadas
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long revision;
+}
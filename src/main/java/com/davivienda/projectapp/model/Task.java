@@ -2,12 +2,27 @@ package com.davivienda.projectapp.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    // Orden manual de las columnas del tablero
+    @Index(name = "idx_tasks_board_rank", columnList = "project_id, status, board_rank, id"),
+    // Dashboard "mi trabajo": conteos y próximos vencimientos del usuario asignado
+    @Index(name = "idx_tasks_assignee_status_due", columnList = "assigned_to, status, due_date"),
+    // Reporte de carga por miembro dentro de un proyecto
+    @Index(name = "idx_tasks_project_assignee_status", columnList = "project_id, assigned_to, status"),
+    // Carga por rangos del planificador de recordatorios
+    @Index(name = "idx_tasks_due_date", columnList = "due_date, id")
+})
+// Las consultas JPA solo ven tareas activas; las archivadas se leen con consultas nativas explícitas
+@SQLRestriction("archived = false")
+// El UPDATE incluye solo las columnas modificadas, así un PATCH no reescribe la fila completa
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,6 +32,11 @@ public class Task {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Control de concurrencia optimista: una escritura con versión desactualizada falla con 409
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(nullable = false)
     private String title;
 
@@ -49,13 +69,31 @@ public class Task {
     @Column
     private LocalDateTime dueDate;
 
+    // Posición dentro de la columna del tablero (ver RankKeys); COLLATE "C" para que la base de datos
+    // compare byte a byte igual que String.compareTo
+    @Column(name = "board_rank", columnDefinition = "varchar(255) COLLATE \"C\"")
+    private String rank;
+
+    // Momento en que la tarea pasó a DONE; determina cuándo se archiva
+    @Column
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean archived;
+
+    @Column
+    private LocalDateTime archivedAt;
+
+    // Set en lugar de List: Hibernate trata la asociación como conjunto y modifica filas
+    // individuales de task_labels en vez de borrar y reinsertar la colección completa
     @ManyToMany
     @JoinTable(
         name = "task_labels",
         joinColumns = @JoinColumn(name = "task_id"),
-        inverseJoinColumns = @JoinColumn(name = "label_id")
+        inverseJoinColumns = @JoinColumn(name = "label_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_labels", columnNames = {"task_id", "label_id"})
     )
-    private List<Label> labels = new ArrayList<>();
+    private Set<Label> labels = new HashSet<>();
 
     @PrePersist
     protected void onCreate() {
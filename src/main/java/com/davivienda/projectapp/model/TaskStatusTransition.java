@@ -0,0 +1,41 @@
+package com.davivienda.projectapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// Historial de solo inserción de los cambios de estado de cada tarea. Los estados se guardan como
+// smallint (ordinal de TaskStatus, no reordenar sus valores) y las tareas y proyectos como ids
+// planos para que las filas sean pequeñas y las consultas de analítica no necesiten joins
+@Entity
+@Table(name = "task_status_transitions", indexes = {
+    @Index(name = "idx_transitions_task", columnList = "task_id, changed_at"),
+    @Index(name = "idx_transitions_project", columnList = "project_id, changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatusTransition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    // null en la transición de creación
+    @Enumerated(EnumType.ORDINAL)
+    @Column(columnDefinition = "smallint")
+    private TaskStatus fromStatus;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false, columnDefinition = "smallint")
+    private TaskStatus toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
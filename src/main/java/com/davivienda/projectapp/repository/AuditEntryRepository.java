@@ -0,0 +1,17 @@
+package com.davivienda.projectapp.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.davivienda.projectapp.model.AuditEntry;
+
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, Long> {
+    // Paginación por cursor sobre id (orden de inserción), servida por los índices (project_id, id)
+    // y (entity_type, entity_id, id)
+    List<AuditEntry> findByProjectIdAndIdLessThanOrderByIdDesc(Long projectId, Long beforeId, Limit limit);
+
+    List<AuditEntry> findByProjectIdAndEntityTypeAndEntityIdAndIdLessThanOrderByIdDesc(
+            Long projectId, String entityType, Long entityId, Long beforeId, Limit limit);
+}
@@ -1,11 +1,25 @@
 package com.davivienda.projectapp.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.davivienda.projectapp.model.Label;
 
 public interface LabelRepository extends JpaRepository<Label, Long> {
     Optional<Label> findByName(String name);
-} 
\ No newline at end of file
+
+    List<Label> findByProjectIsNullOrderByName();
+
+    // Etiquetas propias del proyecto más las globales, resuelto con el índice (project_id, name)
+    @Query("SELECT l FROM Label l WHERE l.project.id = :projectId OR l.project IS NULL ORDER BY l.name")
+    List<Label> findAvailableForProject(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "DELETE FROM labels WHERE project_id = :projectId", nativeQuery = true)
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,48 @@
+package com.davivienda.projectapp.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.davivienda.projectapp.model.LabelUsage;
+
+public interface LabelUsageRepository extends JpaRepository<LabelUsage, LabelUsage.LabelUsageId> {
+    // Lectura por el prefijo de la clave primaria (project_id, label_id, status)
+    List<LabelUsage> findByProjectId(Long projectId);
+
+    @Modifying
+    @Query(value = "INSERT INTO label_usage (project_id, label_id, status, task_count) " +
+            "SELECT :projectId, l.id, :status, :delta FROM labels l WHERE l.id IN (:labelIds) " +
+            "ON CONFLICT (project_id, label_id, status) " +
+            "DO UPDATE SET task_count = label_usage.task_count + EXCLUDED.task_count",
+            nativeQuery = true)
+    int increment(@Param("projectId") Long projectId,
+                  @Param("labelIds") Collection<Long> labelIds,
+                  @Param("status") String status,
+                  @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM label_usage WHERE label_id = :labelId", nativeQuery = true)
+    int deleteByLabelId(@Param("labelId") Long labelId);
+
+    @Query(value = "SELECT NOT EXISTS (SELECT 1 FROM label_usage) AND EXISTS (SELECT 1 FROM task_labels)", nativeQuery = true)
+    boolean needsRebuild();
+
+    // Reconstrucción completa a partir de task_labels, usada solo cuando la tabla está vacía;
+    // las tareas archivadas no cuentan, igual que al archivarlas
+    @Modifying
+    @Query(value = "INSERT INTO label_usage (project_id, label_id, status, task_count) " +
+            "SELECT t.project_id, tl.label_id, t.status, COUNT(*) FROM task_labels tl " +
+            "JOIN tasks t ON t.id = tl.task_id WHERE t.archived = false GROUP BY t.project_id, tl.label_id, t.status " +
+            "ON CONFLICT (project_id, label_id, status) DO UPDATE SET task_count = EXCLUDED.task_count",
+            nativeQuery = true)
+    int rebuildAll();
+
+    @Modifying
+    @Query(value = "DELETE FROM label_usage WHERE project_id = :projectId", nativeQuery = true)
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,45 @@
+package com.davivienda.projectapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.davivienda.projectapp.model.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    interface Backlog {
+        Long getPending();
+        LocalDateTime getOldest();
+        Long getParked();
+    }
+
+    // SKIP LOCKED: varias instancias del relay pueden drenar la tabla sin bloquearse entre sí, a costa
+    // de que el orden por id solo se garantice dentro de cada instancia. Los aparcados no se reintentan
+    @Query(value = "SELECT * FROM outbox_events WHERE published_at IS NULL AND parked_at IS NULL ORDER BY id " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET published_at = now() WHERE id IN (:ids)", nativeQuery = true)
+    int markPublished(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET attempts = attempts + 1, last_error = :error, " +
+            "parked_at = CASE WHEN attempts + 1 >= :maxAttempts THEN now() END WHERE id = :id", nativeQuery = true)
+    int markFailed(@Param("id") Long id, @Param("error") String error, @Param("maxAttempts") int maxAttempts);
+
+    @Query(value = "SELECT COUNT(*) FILTER (WHERE parked_at IS NULL) AS pending, " +
+            "MIN(created_at) FILTER (WHERE parked_at IS NULL) AS oldest, " +
+            "COUNT(*) FILTER (WHERE parked_at IS NOT NULL) AS parked FROM outbox_events " +
+            "WHERE published_at IS NULL", nativeQuery = true)
+    Backlog findBacklog();
+
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE published_at < :cutoff", nativeQuery = true)
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
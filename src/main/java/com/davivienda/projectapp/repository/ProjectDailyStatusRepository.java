@@ -0,0 +1,73 @@
+package com.davivienda.projectapp.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.davivienda.projectapp.model.ProjectDailyStatus;
+
+public interface ProjectDailyStatusRepository extends JpaRepository<ProjectDailyStatus, ProjectDailyStatus.ProjectDailyStatusId> {
+    // Filas del rango más la última foto anterior a él, de la que parten los días iniciales sin cambios
+    @Query(value = "SELECT * FROM project_daily_status WHERE project_id = :projectId AND day <= :to " +
+            "AND day >= COALESCE((SELECT MAX(day) FROM project_daily_status " +
+            "WHERE project_id = :projectId AND day <= :from), :from) ORDER BY day",
+            nativeQuery = true)
+    List<ProjectDailyStatus> findSeries(@Param("projectId") Long projectId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to);
+
+    // Primera escritura del día: copia los contadores de la foto más reciente del proyecto
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_status (project_id, day, status, task_count) " +
+            "SELECT project_id, :day, status, task_count FROM project_daily_status " +
+            "WHERE project_id = :projectId AND day = (SELECT MAX(day) FROM project_daily_status " +
+            "WHERE project_id = :projectId AND day < :day) " +
+            "ON CONFLICT (project_id, day, status) DO NOTHING",
+            nativeQuery = true)
+    int seedDay(@Param("projectId") Long projectId, @Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_status (project_id, day, status, task_count) " +
+            "VALUES (:projectId, :day, :status, :delta) " +
+            "ON CONFLICT (project_id, day, status) " +
+            "DO UPDATE SET task_count = project_daily_status.task_count + EXCLUDED.task_count",
+            nativeQuery = true)
+    int increment(@Param("projectId") Long projectId,
+                  @Param("day") LocalDate day,
+                  @Param("status") String status,
+                  @Param("delta") long delta);
+
+    // Copia hacia delante la última foto de cada proyecto en los días sin filas entre :since y :today
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_status (project_id, day, status, task_count) " +
+            "SELECT p.project_id, CAST(d AS date), prev.status, prev.task_count " +
+            "FROM (SELECT project_id, MIN(day) AS first_day FROM project_daily_status GROUP BY project_id) p " +
+            "CROSS JOIN LATERAL generate_series(GREATEST(p.first_day, CAST(:since AS date)), " +
+            "  CAST(:today AS date), interval '1 day') d " +
+            "CROSS JOIN LATERAL (SELECT MAX(x.day) AS day FROM project_daily_status x " +
+            "  WHERE x.project_id = p.project_id AND x.day <= CAST(d AS date)) last " +
+            "JOIN project_daily_status prev ON prev.project_id = p.project_id AND prev.day = last.day " +
+            "WHERE last.day < CAST(d AS date) " +
+            "ON CONFLICT (project_id, day, status) DO NOTHING",
+            nativeQuery = true)
+    int fillGaps(@Param("since") LocalDate since, @Param("today") LocalDate today);
+
+    @Query(value = "SELECT NOT EXISTS (SELECT 1 FROM project_daily_status) AND EXISTS (SELECT 1 FROM tasks)", nativeQuery = true)
+    boolean needsRebuild();
+
+    // Punto de partida a partir de las tareas actuales, usado solo cuando la tabla está vacía
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_status (project_id, day, status, task_count) " +
+            "SELECT project_id, :day, status, COUNT(*) FROM tasks GROUP BY project_id, status " +
+            "ON CONFLICT (project_id, day, status) DO UPDATE SET task_count = EXCLUDED.task_count",
+            nativeQuery = true)
+    int rebuild(@Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = "DELETE FROM project_daily_status WHERE project_id = :projectId", nativeQuery = true)
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
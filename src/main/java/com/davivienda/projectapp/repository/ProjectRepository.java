@@ -1,8 +1,12 @@
 package com.davivienda.projectapp.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -10,6 +14,12 @@ import com.davivienda.projectapp.model.Project;
 import com.davivienda.projectapp.model.User;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    // Tabla lateral de proyectos de la vista normalizada de tareas
+    interface ProjectName {
+        Long getId();
+        String getName();
+    }
+
     List<Project> findByCreatedBy(User user);
     
     @Query("SELECT p FROM Project p JOIN p.userProjects up WHERE up.user = :user")
@@ -19,4 +29,28 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findProjectsByUserWithAdminRole(@Param("user") User user);
     
     List<Project> findByStatus(com.davivienda.projectapp.model.ProjectStatus status);
-} 
\ No newline at end of file
+
+    // clearAutomatically: el proyecto cargado para validar permisos deja de estar gestionado
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM projects WHERE id = :projectId", nativeQuery = true)
+    int deleteByIdDirect(@Param("projectId") Long projectId);
+
+    // Incluye proyectos archivados, que @SQLRestriction oculta a findById
+    @Query(value = "SELECT * FROM projects WHERE id = :projectId", nativeQuery = true)
+    Optional<Project> findByIdIncludingArchived(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT p.* FROM projects p JOIN user_projects up ON up.project_id = p.id " +
+            "WHERE up.user_id = :userId AND p.archived = true ORDER BY p.archived_at DESC", nativeQuery = true)
+    List<Project> findArchivedProjectsByUserId(@Param("userId") Long userId);
+
+    // Solo se archivan proyectos inactivos que ya no tienen tareas sin archivar
+    @Modifying
+    @Query(value = "UPDATE projects SET archived = true, archived_at = now() WHERE archived = false " +
+            "AND status IN ('COMPLETED', 'CANCELLED') AND COALESCE(updated_at, created_at) < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.project_id = projects.id AND t.archived = false)",
+            nativeQuery = true)
+    int archiveInactiveProjects(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT p.id AS id, p.name AS name FROM Project p WHERE p.id IN :ids")
+    List<ProjectName> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,109 @@
+package com.davivienda.projectapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.davivienda.projectapp.model.ProjectSummary;
+
+public interface ProjectSummaryRepository extends JpaRepository<ProjectSummary, Long> {
+    // Recalcula filas completas desde projects, tasks y user_projects; solo para altas, reconstrucción
+    // y la reconciliación nocturna, el resto de cambios se aplican con deltas
+    String REFRESH_SELECT = "INSERT INTO project_summaries (project_id, version, name, description, status, " +
+            "created_by_username, created_at, archived, archived_at, todo_count, in_progress_count, review_count, " +
+            "done_count, member_count, member_ids, member_usernames, last_activity_at) " +
+            "SELECT p.id, p.version, p.name, p.description, p.status, u.username, p.created_at, p.archived, p.archived_at, " +
+            "COALESCE(t.todo, 0), COALESCE(t.in_progress, 0), COALESCE(t.review, 0), COALESCE(t.done, 0), " +
+            "COALESCE(m.member_count, 0), COALESCE(m.member_ids, '{}'), COALESCE(m.member_usernames, '{}'), " +
+            "GREATEST(p.created_at, p.updated_at, t.last_activity) " +
+            "FROM projects p JOIN users u ON u.id = p.created_by " +
+            "LEFT JOIN (SELECT project_id, " +
+            "  COUNT(*) FILTER (WHERE status = 'TODO') AS todo, " +
+            "  COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress, " +
+            "  COUNT(*) FILTER (WHERE status = 'REVIEW') AS review, " +
+            "  COUNT(*) FILTER (WHERE status = 'DONE') AS done, " +
+            "  GREATEST(MAX(created_at), MAX(completed_at)) AS last_activity " +
+            "  FROM tasks WHERE archived = false GROUP BY project_id) t ON t.project_id = p.id " +
+            "LEFT JOIN (SELECT up.project_id, COUNT(*) AS member_count, " +
+            "  array_agg(up.user_id ORDER BY up.id) AS member_ids, " +
+            "  array_agg(mu.username ORDER BY up.id) AS member_usernames " +
+            "  FROM user_projects up JOIN users mu ON mu.id = up.user_id GROUP BY up.project_id) m ON m.project_id = p.id ";
+    String REFRESH_UPSERT = "ON CONFLICT (project_id) DO UPDATE SET version = EXCLUDED.version, name = EXCLUDED.name, " +
+            "description = EXCLUDED.description, status = EXCLUDED.status, archived = EXCLUDED.archived, " +
+            "archived_at = EXCLUDED.archived_at, todo_count = EXCLUDED.todo_count, " +
+            "in_progress_count = EXCLUDED.in_progress_count, review_count = EXCLUDED.review_count, " +
+            "done_count = EXCLUDED.done_count, member_count = EXCLUDED.member_count, member_ids = EXCLUDED.member_ids, " +
+            "member_usernames = EXCLUDED.member_usernames, " +
+            "last_activity_at = GREATEST(project_summaries.last_activity_at, EXCLUDED.last_activity_at), " +
+            "revision = project_summaries.revision + 1";
+
+    // El operador @> sobre member_ids usa el índice GIN
+    @Query(value = "SELECT * FROM project_summaries WHERE member_ids @> ARRAY[CAST(:userId AS bigint)] " +
+            "AND archived = false ORDER BY project_id", nativeQuery = true)
+    List<ProjectSummary> findActiveByMember(@Param("userId") Long userId);
+
+    @Query(value = "SELECT * FROM project_summaries WHERE member_ids @> ARRAY[CAST(:userId AS bigint)] " +
+            "AND archived = true ORDER BY archived_at DESC", nativeQuery = true)
+    List<ProjectSummary> findArchivedByMember(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = REFRESH_SELECT + "WHERE p.id = :projectId " + REFRESH_UPSERT, nativeQuery = true)
+    int refresh(@Param("projectId") Long projectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = REFRESH_SELECT + REFRESH_UPSERT, nativeQuery = true)
+    int refreshAll();
+
+    @Modifying
+    @Query(value = "UPDATE project_summaries SET version = :version, name = :name, description = :description, " +
+            "status = :status, last_activity_at = :now, revision = revision + 1 WHERE project_id = :projectId", nativeQuery = true)
+    int updateDetails(@Param("projectId") Long projectId,
+                      @Param("version") Long version,
+                      @Param("name") String name,
+                      @Param("description") String description,
+                      @Param("status") String status,
+                      @Param("now") LocalDateTime now);
+
+    // Deltas de una tarea creada, movida o borrada; el UPDATE bloquea la fila y no pierde cambios concurrentes
+    @Modifying
+    @Query(value = "UPDATE project_summaries SET todo_count = todo_count + :todo, " +
+            "in_progress_count = in_progress_count + :inProgress, review_count = review_count + :review, " +
+            "done_count = done_count + :done, last_activity_at = :now, revision = revision + 1 " +
+            "WHERE project_id = :projectId", nativeQuery = true)
+    int applyTaskDelta(@Param("projectId") Long projectId,
+                       @Param("todo") int todo,
+                       @Param("inProgress") int inProgress,
+                       @Param("review") int review,
+                       @Param("done") int done,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE project_summaries s SET member_count = m.member_count, " +
+            "member_ids = m.member_ids, member_usernames = m.member_usernames, revision = s.revision + 1 " +
+            "FROM (SELECT COUNT(*) AS member_count, " +
+            "  COALESCE(array_agg(up.user_id ORDER BY up.id), '{}') AS member_ids, " +
+            "  COALESCE(array_agg(u.username ORDER BY up.id), '{}') AS member_usernames " +
+            "  FROM user_projects up JOIN users u ON u.id = up.user_id WHERE up.project_id = :projectId) m " +
+            "WHERE s.project_id = :projectId", nativeQuery = true)
+    int refreshMembers(@Param("projectId") Long projectId);
+
+    // Solo invalida la revisión: el cambio (labels, posiciones del tablero) no toca los contadores
+    @Modifying
+    @Query(value = "UPDATE project_summaries SET revision = revision + 1 WHERE project_id = :projectId", nativeQuery = true)
+    int bumpRevision(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "UPDATE project_summaries SET revision = revision + 1", nativeQuery = true)
+    int bumpAllRevisions();
+
+    @Query(value = "SELECT NOT EXISTS (SELECT 1 FROM project_summaries) AND EXISTS (SELECT 1 FROM projects)", nativeQuery = true)
+    boolean needsRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM project_summaries WHERE project_id = :projectId", nativeQuery = true)
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -1,21 +1,280 @@
 package com.davivienda.projectapp.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.davivienda.projectapp.model.Project;
 import com.davivienda.projectapp.model.Task;
 import com.davivienda.projectapp.model.User;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
+    // Tarjeta de una columna: id y posición, con la que se construye el cursor de la página siguiente
+    interface ColumnCard {
+        Long getId();
+        String getBoardRank();
+    }
+
+    // Proyección de la consulta del tablero: tarjeta y su columna
+    interface BoardCard extends ColumnCard {
+        String getStatus();
+    }
+
+    // Proyección del dashboard: tareas asignadas agrupadas por proyecto, estado y prioridad
+    interface AssignedCount {
+        Long getProjectId();
+        String getProjectName();
+        com.davivienda.projectapp.model.TaskStatus getStatus();
+        com.davivienda.projectapp.model.TaskPriority getPriority();
+        Long getTotal();
+        Long getOverdue();
+    }
+
+    // Proyección del planificador de recordatorios
+    interface DueTask {
+        Long getId();
+        LocalDateTime getDueDate();
+    }
+
+    interface BoardColumnKey {
+        Long getProjectId();
+        String getStatus();
+    }
+
+    // Proyección de la vista normalizada: columnas de la tarea con ids en lugar de entidades relacionadas
+    interface TaskRow {
+        Long getId();
+        Long getVersion();
+        String getTitle();
+        String getDescription();
+        String getStatus();
+        String getPriority();
+        Long getProjectId();
+        Long getAssignedToId();
+        Long getCreatedById();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getDueDate();
+        String getRank();
+    }
+
+    interface TaskLabelLink {
+        Long getTaskId();
+        Long getLabelId();
+    }
+
     List<Task> findByProject(Project project);
     List<Task> findByAssignedTo(User user);
     List<Task> findByCreatedBy(User user);
     List<Task> findByProjectAndStatus(Project project, com.davivienda.projectapp.model.TaskStatus status);
     
+    // Espacio de advisory locks del orden del tablero; la segunda clave es el id del proyecto
+    int BOARD_RANK_LOCK = 1;
+
+    // Serializa por proyecto el cálculo de posiciones (altas, movimientos y rebalanceo) hasta el fin de la transacción
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(" + BOARD_RANK_LOCK + ", CAST(:projectId % 2147483648 AS integer))",
+            nativeQuery = true)
+    Integer lockBoard(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(" + BOARD_RANK_LOCK + ", CAST(:projectId % 2147483648 AS integer))",
+            nativeQuery = true)
+    boolean tryLockBoard(@Param("projectId") Long projectId);
+
+    @Query("SELECT MAX(t.rank) FROM Task t WHERE t.project.id = :projectId AND t.status = :status")
+    String findMaxRank(@Param("projectId") Long projectId, @Param("status") com.davivienda.projectapp.model.TaskStatus status);
+
+    @Query("SELECT t.rank FROM Task t WHERE t.id = :id AND t.project.id = :projectId AND t.status = :status")
+    Optional<String> findRank(@Param("id") Long id, @Param("projectId") Long projectId,
+                              @Param("status") com.davivienda.projectapp.model.TaskStatus status);
+
     @Query("SELECT t FROM Task t WHERE t.project = :project AND t.assignedTo = :user")
     List<Task> findByProjectAndAssignedTo(@Param("project") Project project, @Param("user") User user);
-} 
\ No newline at end of file
+
+    @Modifying
+    @Query(value = "INSERT INTO task_labels (task_id, label_id) SELECT :taskId, l.id FROM labels l " +
+            "WHERE l.id IN (:labelIds) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addLabels(@Param("taskId") Long taskId, @Param("labelIds") Collection<Long> labelIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_labels WHERE task_id = :taskId AND label_id IN (:labelIds)", nativeQuery = true)
+    int removeLabels(@Param("taskId") Long taskId, @Param("labelIds") Collection<Long> labelIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_labels WHERE label_id = :labelId", nativeQuery = true)
+    int removeLabelFromAllTasks(@Param("labelId") Long labelId);
+
+    // Inserta la label en las tareas del proyecto que aún no la tienen y suma a label_usage
+    // solo las filas realmente insertadas; devuelve el número de tareas afectadas
+    @Transactional
+    @Query(value = "WITH added AS (" +
+            "  INSERT INTO task_labels (task_id, label_id) " +
+            "  SELECT t.id, :labelId FROM tasks t WHERE t.project_id = :projectId AND t.id IN (:taskIds) AND t.archived = false " +
+            "  ON CONFLICT DO NOTHING RETURNING task_id" +
+            "), usage AS (" +
+            "  INSERT INTO label_usage (project_id, label_id, status, task_count) " +
+            "  SELECT :projectId, :labelId, t.status, COUNT(*) FROM added a JOIN tasks t ON t.id = a.task_id GROUP BY t.status " +
+            "  ON CONFLICT (project_id, label_id, status) DO UPDATE SET task_count = label_usage.task_count + EXCLUDED.task_count " +
+            "  RETURNING 1" +
+            ") SELECT COUNT(*) FROM added", nativeQuery = true)
+    int bulkAddLabel(@Param("projectId") Long projectId, @Param("labelId") Long labelId,
+                     @Param("taskIds") Collection<Long> taskIds);
+
+    @Transactional
+    @Query(value = "WITH removed AS (" +
+            "  DELETE FROM task_labels tl USING tasks t " +
+            "  WHERE tl.task_id = t.id AND tl.label_id = :labelId AND t.project_id = :projectId AND t.id IN (:taskIds) AND t.archived = false " +
+            "  RETURNING t.status" +
+            "), usage AS (" +
+            "  INSERT INTO label_usage (project_id, label_id, status, task_count) " +
+            "  SELECT :projectId, :labelId, r.status, -COUNT(*) FROM removed r GROUP BY r.status " +
+            "  ON CONFLICT (project_id, label_id, status) DO UPDATE SET task_count = label_usage.task_count + EXCLUDED.task_count " +
+            "  RETURNING 1" +
+            ") SELECT COUNT(*) FROM removed", nativeQuery = true)
+    int bulkRemoveLabel(@Param("projectId") Long projectId, @Param("labelId") Long labelId,
+                        @Param("taskIds") Collection<Long> taskIds);
+
+    // Borrado masivo usado al eliminar un proyecto, sin cargar tareas ni asociaciones
+    @Modifying
+    @Query(value = "DELETE FROM task_labels WHERE task_id IN (SELECT id FROM tasks WHERE project_id = :projectId) " +
+            "OR label_id IN (SELECT id FROM labels WHERE project_id = :projectId)", nativeQuery = true)
+    int deleteLabelLinksByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE project_id = :projectId", nativeQuery = true)
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT * FROM tasks WHERE project_id = :projectId AND archived = true ORDER BY archived_at DESC", nativeQuery = true)
+    List<Task> findArchivedByProjectId(@Param("projectId") Long projectId);
+
+    // Archivado por lotes: cada llamada marca como máximo :limit filas para mantener los bloqueos cortos.
+    // En la misma sentencia resta de label_usage las etiquetas de las tareas archivadas, que dejan de contarse
+    String ARCHIVE_LABEL_USAGE = "), usage AS (" +
+            "  INSERT INTO label_usage (project_id, label_id, status, task_count) " +
+            "  SELECT a.project_id, tl.label_id, a.status, -COUNT(*) FROM batch a JOIN task_labels tl ON tl.task_id = a.id " +
+            "  GROUP BY a.project_id, tl.label_id, a.status " +
+            "  ON CONFLICT (project_id, label_id, status) DO UPDATE SET task_count = label_usage.task_count + EXCLUDED.task_count " +
+            "  RETURNING 1" +
+            ") SELECT COUNT(*) FROM batch";
+
+    @Transactional
+    @Query(value = "WITH batch AS (" +
+            "  UPDATE tasks SET archived = true, archived_at = now() WHERE id IN (" +
+            "  SELECT id FROM tasks WHERE archived = false AND status = 'DONE' " +
+            "  AND COALESCE(completed_at, created_at) < :cutoff LIMIT :limit) " +
+            "  RETURNING id, project_id, status" +
+            ARCHIVE_LABEL_USAGE, nativeQuery = true)
+    int archiveDoneTasks(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Transactional
+    @Query(value = "WITH batch AS (" +
+            "  UPDATE tasks SET archived = true, archived_at = now() WHERE id IN (" +
+            "  SELECT t.id FROM tasks t JOIN projects p ON p.id = t.project_id " +
+            "  WHERE t.archived = false AND p.archived = false AND p.status IN ('COMPLETED', 'CANCELLED') " +
+            "  AND COALESCE(p.updated_at, p.created_at) < :cutoff LIMIT :limit) " +
+            "  RETURNING id, project_id, status" +
+            ARCHIVE_LABEL_USAGE, nativeQuery = true)
+    int archiveTasksOfInactiveProjects(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Una sola consulta: por cada estado, un recorrido del índice parcial idx_tasks_board_active que se detiene
+    // en :limit tarjetas, sin leer el resto de la columna. Los totales salen de project_summaries
+    @Query(value = "SELECT c.id AS id, c.board_rank AS boardRank, s.status AS status " +
+            "FROM unnest(ARRAY[:statuses]) WITH ORDINALITY AS s(status, ord) " +
+            "CROSS JOIN LATERAL (SELECT t.id, t.board_rank FROM tasks t WHERE t.project_id = :projectId " +
+            "  AND t.status = s.status AND t.archived = false ORDER BY t.board_rank, t.id LIMIT :limit) c " +
+            "ORDER BY s.ord, c.board_rank, c.id", nativeQuery = true)
+    List<BoardCard> findBoardCards(@Param("projectId") Long projectId, @Param("statuses") Collection<String> statuses,
+                                   @Param("limit") int limit);
+
+    @Query(value = "SELECT t.id AS id, t.board_rank AS boardRank FROM tasks t WHERE t.project_id = :projectId " +
+            "AND t.status = :status AND t.archived = false ORDER BY t.board_rank, t.id LIMIT :limit", nativeQuery = true)
+    List<ColumnCard> findColumnPage(@Param("projectId") Long projectId, @Param("status") String status,
+                                    @Param("limit") int limit);
+
+    // Paginación por cursor: continúa después de la posición (:afterRank, :afterId) sin usar OFFSET ni releer
+    // la tarjeta del cursor, que puede haberse movido o borrado desde la página anterior
+    @Query(value = "SELECT t.id AS id, t.board_rank AS boardRank FROM tasks t WHERE t.project_id = :projectId " +
+            "AND t.status = :status AND t.archived = false AND (t.board_rank, t.id) > (:afterRank, :afterId) " +
+            "ORDER BY t.board_rank, t.id LIMIT :limit", nativeQuery = true)
+    List<ColumnCard> findColumnPageAfter(@Param("projectId") Long projectId, @Param("status") String status,
+                                         @Param("afterRank") String afterRank, @Param("afterId") Long afterId,
+                                         @Param("limit") int limit);
+
+    // Las tareas sin posición van al final de la columna (NULLS LAST) hasta el siguiente rebalanceo
+    @Query(value = "SELECT t.id AS id, t.board_rank AS boardRank FROM tasks t WHERE t.project_id = :projectId " +
+            "AND t.status = :status AND t.archived = false AND t.board_rank IS NULL AND t.id > :afterId " +
+            "ORDER BY t.id LIMIT :limit", nativeQuery = true)
+    List<ColumnCard> findUnrankedColumnPageAfter(@Param("projectId") Long projectId, @Param("status") String status,
+                                                 @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // Columnas con tareas sin posición (creadas antes del orden manual) o con claves demasiado largas
+    @Query(value = "SELECT DISTINCT t.project_id AS projectId, t.status AS status FROM tasks t " +
+            "WHERE t.archived = false AND (t.board_rank IS NULL OR length(t.board_rank) > :maxLength)", nativeQuery = true)
+    List<BoardColumnKey> findColumnsToRebalance(@Param("maxLength") int maxLength);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tasks t WHERE t.project_id = :projectId AND t.status = :status " +
+            "AND t.archived = false AND (t.board_rank IS NULL OR length(t.board_rank) > :maxLength))", nativeQuery = true)
+    boolean needsRebalance(@Param("projectId") Long projectId, @Param("status") String status,
+                           @Param("maxLength") int maxLength);
+
+    // Orden actual de una columna; las tareas sin posición quedan al final por fecha de creación
+    @Query(value = "SELECT t.id FROM tasks t WHERE t.project_id = :projectId AND t.status = :status " +
+            "AND t.archived = false ORDER BY t.board_rank NULLS LAST, t.created_at, t.id", nativeQuery = true)
+    List<Long> findColumnIdsInOrder(@Param("projectId") Long projectId, @Param("status") String status);
+
+    @Query("SELECT p.id AS projectId, p.name AS projectName, t.status AS status, t.priority AS priority, " +
+            "COUNT(t) AS total, " +
+            "SUM(CASE WHEN t.dueDate < :now AND t.status <> com.davivienda.projectapp.model.TaskStatus.DONE THEN 1 ELSE 0 END) AS overdue " +
+            "FROM Task t JOIN t.project p WHERE t.assignedTo.id = :userId " +
+            "GROUP BY p.id, p.name, t.status, t.priority")
+    List<AssignedCount> countAssignedByProject(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Próximos vencimientos del usuario (incluye los ya vencidos); recorre el índice de assigned_to
+    @Query(value = "SELECT t.id FROM tasks t WHERE t.assigned_to = :userId AND t.status <> 'DONE' " +
+            "AND t.archived = false AND t.due_date IS NOT NULL ORDER BY t.due_date, t.id LIMIT :limit", nativeQuery = true)
+    List<Long> findNextDueIds(@Param("userId") Long userId, @Param("limit") int limit);
+
+    // Carga incremental de vencimientos: rango sobre due_date con cursor (due_date, id)
+    @Query("SELECT t.id AS id, t.dueDate AS dueDate FROM Task t " +
+            "WHERE t.status <> com.davivienda.projectapp.model.TaskStatus.DONE AND t.dueDate <= :to " +
+            "AND (t.dueDate > :afterDue OR (t.dueDate = :afterDue AND t.id > :afterId)) ORDER BY t.dueDate, t.id")
+    List<DueTask> findDueBetween(@Param("to") LocalDateTime to, @Param("afterDue") LocalDateTime afterDue,
+                                 @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT t.id AS id, t.dueDate AS dueDate FROM Task t " +
+            "WHERE t.id IN :ids AND t.status <> com.davivienda.projectapp.model.TaskStatus.DONE")
+    List<DueTask> findOpenDueTasks(@Param("ids") Collection<Long> ids);
+
+    String TASK_ROW_SELECT = "SELECT t.id AS id, t.version AS version, t.title AS title, t.description AS description, " +
+            "t.status AS status, t.priority AS priority, t.project_id AS projectId, t.assigned_to AS assignedToId, " +
+            "t.created_by AS createdById, t.created_at AS createdAt, t.due_date AS dueDate, t.board_rank AS rank FROM tasks t ";
+
+    @Query(value = TASK_ROW_SELECT + "WHERE t.project_id = :projectId AND t.archived = false ORDER BY t.id", nativeQuery = true)
+    List<TaskRow> findRowsByProjectId(@Param("projectId") Long projectId);
+
+    @Query(value = TASK_ROW_SELECT + "WHERE t.assigned_to = :userId AND t.archived = false ORDER BY t.id", nativeQuery = true)
+    List<TaskRow> findRowsByAssignedTo(@Param("userId") Long userId);
+
+    @Query(value = "SELECT tl.task_id AS taskId, tl.label_id AS labelId FROM task_labels tl JOIN tasks t ON t.id = tl.task_id " +
+            "WHERE t.project_id = :projectId AND t.archived = false", nativeQuery = true)
+    List<TaskLabelLink> findLabelLinksByProjectId(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT tl.task_id AS taskId, tl.label_id AS labelId FROM task_labels tl JOIN tasks t ON t.id = tl.task_id " +
+            "WHERE t.assigned_to = :userId AND t.archived = false", nativeQuery = true)
+    List<TaskLabelLink> findLabelLinksByAssignedTo(@Param("userId") Long userId);
+
+    // Ids de las tareas activas de un proyecto para recorrerlas por bloques (lista en streaming)
+    @Query(value = "SELECT t.id FROM tasks t WHERE t.project_id = :projectId AND t.archived = false ORDER BY t.id",
+            nativeQuery = true)
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.assignedTo LEFT JOIN FETCH t.createdBy " +
+            "LEFT JOIN FETCH t.labels WHERE t.id IN :ids")
+    List<Task> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+}
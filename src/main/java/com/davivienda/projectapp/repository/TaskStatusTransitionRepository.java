@@ -0,0 +1,89 @@
+package com.davivienda.projectapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.davivienda.projectapp.model.TaskStatusTransition;
+
+public interface TaskStatusTransitionRepository extends JpaRepository<TaskStatusTransition, Long> {
+    // Una fila por periodo: tareas terminadas y percentiles de cycle time y lead time en horas
+    interface FlowPeriodRow {
+        String getPeriodStart();
+        Long getThroughput();
+        Double getCycleP50();
+        Double getCycleP85();
+        Double getCycleP95();
+        Double getLeadP50();
+        Double getLeadP85();
+    }
+
+    // Una fila por estado: tiempo de permanencia de los tramos que empezaron en el rango
+    interface StatusTimeRow {
+        Integer getStatus();
+        Long getSamples();
+        Double getAverageHours();
+        Double getP50();
+        Double getP85();
+    }
+
+    // Solo se leen las transiciones de las tareas terminadas en el rango (índices por proyecto y por tarea).
+    // Lead time: desde la primera transición (creación); cycle time: desde la primera entrada en
+    // :inProgress anterior a la llegada a :done. Los estados se guardan por ordinal, así que el servicio
+    // pasa TaskStatus.IN_PROGRESS.ordinal() y TaskStatus.DONE.ordinal() en lugar de fijarlos aquí
+    @Query(value = "WITH finished AS (" +
+            "  SELECT DISTINCT task_id FROM task_status_transitions " +
+            "  WHERE project_id = :projectId AND to_status = :done AND changed_at >= :from AND changed_at < :to" +
+            "), history AS (" +
+            "  SELECT tr.to_status, tr.changed_at, " +
+            "    MIN(tr.changed_at) OVER (PARTITION BY tr.task_id) AS created_at, " +
+            "    MIN(CASE WHEN tr.to_status = :inProgress THEN tr.changed_at END) " +
+            "      OVER (PARTITION BY tr.task_id ORDER BY tr.changed_at, tr.id) AS started_at " +
+            "  FROM task_status_transitions tr JOIN finished f ON f.task_id = tr.task_id" +
+            "), completions AS (" +
+            "  SELECT date_trunc(:period, changed_at) AS period_start, " +
+            "    CAST(EXTRACT(EPOCH FROM changed_at - started_at) / 3600 AS double precision) AS cycle_hours, " +
+            "    CAST(EXTRACT(EPOCH FROM changed_at - created_at) / 3600 AS double precision) AS lead_hours " +
+            "  FROM history WHERE to_status = :done AND changed_at >= :from AND changed_at < :to" +
+            ") " +
+            "SELECT to_char(period_start, 'YYYY-MM-DD') AS periodStart, COUNT(*) AS throughput, " +
+            "  percentile_cont(0.5) WITHIN GROUP (ORDER BY cycle_hours) AS cycleP50, " +
+            "  percentile_cont(0.85) WITHIN GROUP (ORDER BY cycle_hours) AS cycleP85, " +
+            "  percentile_cont(0.95) WITHIN GROUP (ORDER BY cycle_hours) AS cycleP95, " +
+            "  percentile_cont(0.5) WITHIN GROUP (ORDER BY lead_hours) AS leadP50, " +
+            "  percentile_cont(0.85) WITHIN GROUP (ORDER BY lead_hours) AS leadP85 " +
+            "FROM completions GROUP BY period_start ORDER BY period_start",
+            nativeQuery = true)
+    List<FlowPeriodRow> findFlowByPeriod(@Param("projectId") Long projectId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         @Param("period") String period,
+                                         @Param("inProgress") int inProgress,
+                                         @Param("done") int done);
+
+    // LEAD() da la siguiente transición de la misma tarea: el tramo dura hasta ella.
+    // Los tramos aún abiertos (sin siguiente transición) no cuentan
+    @Query(value = "SELECT CAST(to_status AS integer) AS status, COUNT(*) AS samples, " +
+            "  AVG(hours) AS averageHours, " +
+            "  percentile_cont(0.5) WITHIN GROUP (ORDER BY hours) AS p50, " +
+            "  percentile_cont(0.85) WITHIN GROUP (ORDER BY hours) AS p85 " +
+            "FROM (" +
+            "  SELECT to_status, changed_at, " +
+            "    CAST(EXTRACT(EPOCH FROM LEAD(changed_at) OVER (PARTITION BY task_id ORDER BY changed_at, id) - changed_at) " +
+            "      / 3600 AS double precision) AS hours " +
+            "  FROM task_status_transitions WHERE project_id = :projectId AND changed_at >= :from" +
+            ") stints WHERE hours IS NOT NULL AND changed_at < :to " +
+            "GROUP BY to_status ORDER BY to_status",
+            nativeQuery = true)
+    List<StatusTimeRow> findTimeInStatus(@Param("projectId") Long projectId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_status_transitions WHERE project_id = :projectId", nativeQuery = true)
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
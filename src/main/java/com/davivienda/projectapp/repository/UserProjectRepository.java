@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -12,6 +13,15 @@ import com.davivienda.projectapp.model.User;
 import com.davivienda.projectapp.model.UserProject;
 
 public interface UserProjectRepository extends JpaRepository<UserProject, Long> {
+    // Proyección del reporte de carga: una fila por miembro, estado y prioridad de sus tareas abiertas
+    interface WorkloadRow {
+        String getUsername();
+        String getRole();
+        String getStatus();
+        String getPriority();
+        Long getTotal();
+    }
+
     List<UserProject> findByUser(User user);
     List<UserProject> findByProject(Project project);
     
@@ -22,4 +32,18 @@ public interface UserProjectRepository extends JpaRepository<UserProject, Long>
     List<UserProject> findAdminsByProject(@Param("project") Project project);
     
     boolean existsByUserAndProject(User user, Project project);
-} 
\ No newline at end of file
+
+    // LEFT JOIN para incluir a los miembros sin tareas abiertas (status y priority en null, total 0)
+    @Query(value = "SELECT u.username AS username, up.role AS role, t.status AS status, t.priority AS priority, " +
+            "COUNT(t.id) AS total " +
+            "FROM user_projects up JOIN users u ON u.id = up.user_id " +
+            "LEFT JOIN tasks t ON t.project_id = up.project_id AND t.assigned_to = up.user_id " +
+            "AND t.archived = false AND t.status <> 'DONE' " +
+            "WHERE up.project_id = :projectId " +
+            "GROUP BY u.username, up.role, t.status, t.priority ORDER BY u.username", nativeQuery = true)
+    List<WorkloadRow> findWorkloadByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_projects WHERE project_id = :projectId", nativeQuery = true)
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
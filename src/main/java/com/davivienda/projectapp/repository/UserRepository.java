@@ -1,12 +1,35 @@
 package com.davivienda.projectapp.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.davivienda.projectapp.model.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    long FIRST_USER_LOCK = 7_260_001L;
+
+    // Tabla lateral de usuarios de la vista normalizada de tareas
+    interface UserName {
+        Long getId();
+        String getUsername();
+    }
+
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
-} 
\ No newline at end of file
+
+    // EXISTS se detiene en la primera fila, a diferencia de count() que recorre toda la tabla
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users)", nativeQuery = true)
+    boolean existsAnyUser();
+
+    // Serializa entre instancias la asignación del rol del primer usuario; se libera al terminar la transacción
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(" + FIRST_USER_LOCK + ")", nativeQuery = true)
+    Integer lockFirstUserClaim();
+
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.id IN :ids")
+    List<UserName> findUsernamesByIdIn(@Param("ids") Collection<Long> ids);
+}
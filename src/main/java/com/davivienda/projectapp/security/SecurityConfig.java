@@ -16,6 +16,7 @@ import org.springframework.web.filter.CorsFilter;
 
 import com.davivienda.projectapp.service.UserDetailsServiceImpl;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -33,10 +34,13 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                // El despacho asíncrono de una respuesta en streaming ya se autorizó en la petición original
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                         "/api/auth/**",
                         "/swagger-ui/**",
-                        "/v3/api-docs/**"
+                        "/v3/api-docs/**",
+                        "/actuator/health"
                 ).permitAll()
                 .requestMatchers("/api/projects/**", "/api/tasks/**", "/api/labels/**").authenticated()
                 .anyRequest().authenticated()
@@ -0,0 +1,68 @@
+package com.davivienda.projectapp.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.TaskRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Archiva en segundo plano las tareas DONE antiguas y los proyectos que ya no están activos
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchiveService {
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectSummaryService projectSummaryService;
+
+    @Value("${archive.task-done-days:90}")
+    private int taskDoneDays;
+
+    @Value("${archive.project-inactive-days:30}")
+    private int projectInactiveDays;
+
+    @Value("${archive.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void archive() {
+        LocalDateTime taskCutoff = LocalDateTime.now().minusDays(taskDoneDays);
+        LocalDateTime projectCutoff = LocalDateTime.now().minusDays(projectInactiveDays);
+
+        int doneTasks = archiveInBatches(() -> taskRepository.archiveDoneTasks(taskCutoff, batchSize));
+        // Primero las tareas de los proyectos inactivos y luego los proyectos, para que
+        // ninguna tarea activa apunte a un proyecto archivado
+        int projectTasks = archiveInBatches(() -> taskRepository.archiveTasksOfInactiveProjects(projectCutoff, batchSize));
+        Integer projects = transactionTemplate.execute(status -> projectRepository.archiveInactiveProjects(projectCutoff));
+        // Reconciliación de los resúmenes: saca de los listados lo archivado y corrige cualquier desvío
+        projectSummaryService.refreshAll();
+
+        log.info("Archivado completado: {} tareas DONE, {} tareas de proyectos inactivos, {} proyectos",
+                doneTasks, projectTasks, projects);
+    }
+
+    // Cada lote corre en su propia transacción para no retener bloqueos durante todo el proceso
+    private int archiveInBatches(BatchOperation operation) {
+        int total = 0;
+        int archived;
+        do {
+            Integer result = transactionTemplate.execute(status -> operation.run());
+            archived = result != null ? result : 0;
+            total += archived;
+        } while (archived >= batchSize);
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface BatchOperation {
+        int run();
+    }
+}
@@ -0,0 +1,266 @@
+package com.davivienda.projectapp.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.davivienda.projectapp.dto.AuditEntryResponse;
+import com.davivienda.projectapp.dto.AuditPageResponse;
+import com.davivienda.projectapp.model.AuditEntry;
+import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.User;
+import com.davivienda.projectapp.repository.AuditEntryRepository;
+import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Auditoría asíncrona: los servicios entregan el antes y el después de cada cambio, aquí se calcula
+// el diff y, al confirmar la transacción, se deja en un buffer acotado que un escritor en segundo
+// plano vuelca a audit_entries en lotes JDBC
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditService {
+    public static final String TASK = "Task";
+    public static final String PROJECT = "Project";
+    public static final String MEMBER = "ProjectMember";
+    public static final String LABEL = "Label";
+
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // La versión cambia en cada escritura y no aporta al diff
+    private static final Set<String> IGNORED_FIELDS = Set.of("version");
+    private static final String INSERT_SQL = "INSERT INTO audit_entries " +
+            "(entity_type, entity_id, project_id, action, username, changes, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Qué hacer si el buffer sigue lleno tras esperar offer-timeout-ms: escribir la entrada en el
+    // hilo que la produjo (no se pierde nada, el llamador absorbe la latencia) o descartarla
+    public enum OverflowPolicy {
+        WRITE_THROUGH,
+        DROP
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AuditEntryRepository auditEntryRepository;
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final PermissionService permissionService;
+
+    @Value("${audit.buffer-capacity:10000}")
+    private int bufferCapacity;
+
+    @Value("${audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${audit.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${audit.overflow-policy:WRITE_THROUGH}")
+    private OverflowPolicy overflowPolicy;
+
+    private BlockingQueue<AuditRecord> buffer;
+    private Counter dropped;
+
+    @PostConstruct
+    void init() {
+        // ArrayBlockingQueue: buffer circular sobre un arreglo de tamaño fijo
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        Gauge.builder("audit.buffer.size", buffer, BlockingQueue::size)
+                .description("Entradas de auditoría pendientes de escribir")
+                .register(meterRegistry);
+        dropped = Counter.builder("audit.dropped")
+                .description("Entradas descartadas con el buffer lleno")
+                .register(meterRegistry);
+    }
+
+    public void record(String entityType, Long entityId, Long projectId, String action, String username,
+                       Map<String, ?> before, Map<String, ?> after) {
+        Map<String, Object> changes = diff(before, after);
+        if (changes.isEmpty() && UPDATE.equals(action)) {
+            return;
+        }
+        AuditRecord record = new AuditRecord(entityType, entityId, projectId, action, username,
+                toJson(changes), LocalDateTime.now());
+
+        // Solo se audita lo que realmente se confirma
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(record);
+                }
+            });
+        } else {
+            enqueue(record);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${audit.flush-interval-ms:500}")
+    public synchronized void flush() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    // Al apagar la aplicación se vacía el buffer antes de que se cierre el DataSource
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    @Transactional(readOnly = true)
+    public AuditPageResponse getProjectAudit(Long projectId, String entityType, Long entityId, Long before,
+                                             int limit, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+
+        if (!permissionService.canEditProject(user, project)) {
+            throw new IllegalArgumentException("No tienes permisos para ver la auditoría del proyecto");
+        }
+        if ((entityType == null) != (entityId == null)) {
+            throw new IllegalArgumentException("entityType y entityId deben enviarse juntos");
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long beforeId = before != null ? before : Long.MAX_VALUE;
+        // Se pide una entrada de más para saber si hay otra página
+        List<AuditEntry> entries = entityType == null
+                ? auditEntryRepository.findByProjectIdAndIdLessThanOrderByIdDesc(projectId, beforeId, Limit.of(pageSize + 1))
+                : auditEntryRepository.findByProjectIdAndEntityTypeAndEntityIdAndIdLessThanOrderByIdDesc(
+                        projectId, entityType, entityId, beforeId, Limit.of(pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+
+        AuditPageResponse response = new AuditPageResponse();
+        response.setEntries(entries.stream().map(this::mapToAuditEntryResponse).collect(Collectors.toList()));
+        response.setNextCursor(hasMore ? entries.get(entries.size() - 1).getId() : null);
+        return response;
+    }
+
+    int pendingEntries() {
+        return buffer.size();
+    }
+
+    private void enqueue(AuditRecord record) {
+        try {
+            if (buffer.offer(record, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            dropped.increment();
+            return;
+        }
+        write(List.of(record));
+    }
+
+    private void write(List<AuditRecord> records) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), (statement, record) -> {
+                statement.setString(1, record.entityType());
+                statement.setLong(2, record.entityId());
+                statement.setObject(3, record.projectId());
+                statement.setString(4, record.action());
+                statement.setString(5, record.username());
+                statement.setString(6, record.changes());
+                statement.setTimestamp(7, Timestamp.valueOf(record.createdAt()));
+            });
+        } catch (RuntimeException e) {
+            log.error("Auditoría: no se pudieron escribir {} entradas", records.size(), e);
+        }
+    }
+
+    private Map<String, Object> diff(Map<String, ?> before, Map<String, ?> after) {
+        Set<String> fields = new LinkedHashSet<>();
+        if (before != null) {
+            fields.addAll(before.keySet());
+        }
+        if (after != null) {
+            fields.addAll(after.keySet());
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object oldValue = before != null ? before.get(field) : null;
+            Object newValue = after != null ? after.get(field) : null;
+            if (IGNORED_FIELDS.contains(field) || Objects.equals(oldValue, newValue)) {
+                continue;
+            }
+            Map<String, Object> change = new LinkedHashMap<>();
+            change.put("old", oldValue);
+            change.put("new", newValue);
+            changes.put(field, change);
+        }
+        return changes;
+    }
+
+    private String toJson(Map<String, Object> changes) {
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la auditoría", e);
+        }
+    }
+
+    private AuditEntryResponse mapToAuditEntryResponse(AuditEntry entry) {
+        AuditEntryResponse response = new AuditEntryResponse();
+        response.setId(entry.getId());
+        response.setEntityType(entry.getEntityType());
+        response.setEntityId(entry.getEntityId());
+        response.setAction(entry.getAction());
+        response.setUsername(entry.getUsername());
+        try {
+            response.setChanges(objectMapper.readValue(entry.getChanges(), new TypeReference<Map<String, Object>>() { }));
+        } catch (JsonProcessingException e) {
+            response.setChanges(Map.of());
+        }
+        response.setCreatedAt(entry.getCreatedAt());
+        return response;
+    }
+
+    private record AuditRecord(String entityType, Long entityId, Long projectId, String action, String username,
+                               String changes, LocalDateTime createdAt) {
+    }
+}
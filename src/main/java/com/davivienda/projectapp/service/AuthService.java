@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.UUID;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -19,7 +20,6 @@ import com.davivienda.projectapp.model.RefreshToken;
 import com.davivienda.projectapp.model.Role;
 import com.davivienda.projectapp.model.User;
 import com.davivienda.projectapp.repository.RefreshTokenRepository;
-import com.davivienda.projectapp.repository.RoleRepository;
 import com.davivienda.projectapp.repository.UserRepository;
 import com.davivienda.projectapp.security.JwtUtil;
 
@@ -29,7 +29,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AuthService {
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleService roleService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
@@ -48,27 +48,24 @@ public class AuthService {
             throw new IllegalArgumentException("Password no puede estar vacío");
         }
         
-        if (userRepository.findByUsername(request.getUsername()).isPresent() ||
-            userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("Usuario o email ya existe");
-        }
-        
-        // Verificar si es el primer usuario (será ADMIN)
-        boolean isFirstUser = userRepository.count() == 0;
-        
-        Role userRole = isFirstUser ? 
-            roleRepository.findByName("ADMIN").orElseGet(() -> roleRepository.save(Role.builder().name("ADMIN").build())) :
-            roleRepository.findByName("USER").orElseGet(() -> roleRepository.save(Role.builder().name("USER").build()));
-            
+        // La unicidad de username y email la garantizan las restricciones UNIQUE de la tabla,
+        // así el registro es un único INSERT sin consultas previas
+        Role userRole = roleService.roleForNewUser();
+
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
                 .password(passwordEncoder.encode(request.getPassword()))
                 .roles(Collections.singleton(userRole))
                 .build();
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Usuario o email ya existe");
+        }
         String token = jwtUtil.generateToken(user.getUsername());
-        String refreshToken = createRefreshToken(user);
+        // Un usuario recién creado no tiene refresh tokens previos que eliminar
+        String refreshToken = issueRefreshToken(user);
         return new AuthResponse(token, refreshToken);
     }
 
@@ -111,7 +108,10 @@ public class AuthService {
     private String createRefreshToken(User user) {
         // Eliminar todos los refresh tokens existentes para este usuario de manera directa
         refreshTokenRepository.deleteAllByUser(user);
-        
+        return issueRefreshToken(user);
+    }
+
+    private String issueRefreshToken(User user) {
         String token = UUID.randomUUID().toString();
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(user)
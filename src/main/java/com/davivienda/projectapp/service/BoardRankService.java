@@ -0,0 +1,82 @@
+package com.davivienda.projectapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.davivienda.projectapp.repository.TaskRepository;
+import com.davivienda.projectapp.util.RankKeys;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Reparte de nuevo las posiciones de las columnas cuyas claves crecieron demasiado por inserciones
+// repetidas en el mismo hueco, o que tienen tareas sin posición
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoardRankService {
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectSummaryService projectSummaryService;
+
+    @Value("${board.rank.max-length:32}")
+    private int maxRankLength;
+
+    // ddl-auto no sabe crear índices parciales. Las consultas del tablero solo leen tareas no archivadas, y con
+    // este índice una columna con miles de tareas archivadas no añade entradas que recorrer
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebalanceOnStartup() {
+        try {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_board_active " +
+                    "ON tasks (project_id, status, board_rank, id) WHERE archived = false");
+        } catch (DataAccessException e) {
+            log.warn("No se pudo crear idx_tasks_board_active", e);
+        }
+        rebalance();
+    }
+
+    @Scheduled(fixedDelayString = "${board.rank.rebalance-interval-ms:600000}")
+    public void rebalance() {
+        List<TaskRepository.BoardColumnKey> columns = taskRepository.findColumnsToRebalance(maxRankLength);
+        int rebalanced = 0;
+        for (TaskRepository.BoardColumnKey column : columns) {
+            Boolean done = transactionTemplate.execute(status -> rebalanceColumn(column.getProjectId(), column.getStatus()));
+            if (Boolean.TRUE.equals(done)) {
+                rebalanced++;
+            }
+        }
+        if (rebalanced > 0) {
+            log.info("Posiciones del tablero rebalanceadas en {} columnas", rebalanced);
+        }
+    }
+
+    // Con el lock del tablero del proyecto ninguna alta o movimiento puede escribir board_rank entre la
+    // lectura del orden y la reescritura. Si otra instancia (o una escritura) ya lo tiene, la columna se
+    // deja para la siguiente pasada; tras obtenerlo se comprueba de nuevo, porque otra instancia pudo
+    // haberla rebalanceado ya
+    private boolean rebalanceColumn(Long projectId, String status) {
+        if (!taskRepository.tryLockBoard(projectId) || !taskRepository.needsRebalance(projectId, status, maxRankLength)) {
+            return false;
+        }
+        List<Long> ids = taskRepository.findColumnIdsInOrder(projectId, status);
+        List<String> ranks = RankKeys.evenlySpaced(ids.size());
+        List<Object[]> updates = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            updates.add(new Object[] { ranks.get(i), ids.get(i) });
+        }
+        jdbcTemplate.batchUpdate("UPDATE tasks SET board_rank = ? WHERE id = ?", updates);
+        // Como los movimientos de moveTask, la reescritura de posiciones cuenta como una nueva revisión del proyecto
+        projectSummaryService.taskViewsChanged(projectId);
+        return true;
+    }
+}
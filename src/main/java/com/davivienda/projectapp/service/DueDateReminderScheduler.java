@@ -0,0 +1,204 @@
+package com.davivienda.projectapp.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.davivienda.projectapp.event.TaskDueEvent;
+import com.davivienda.projectapp.repository.TaskRepository;
+import com.davivienda.projectapp.util.HierarchicalTimingWheel;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Mantiene en una rueda de tiempo los vencimientos próximos (horizonte configurable) y publica
+// TaskDueEvent por lotes cuando llega el recordatorio o el vencimiento de cada tarea
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DueDateReminderScheduler {
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 64;
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final HierarchicalTimingWheel<Reminder> wheel =
+            new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    private final Map<Long, Timers> timers = new HashMap<>();
+    // Vencimientos hasta loadingUntil ya están (o se están cargando) en la rueda
+    private LocalDateTime loadingUntil;
+
+    @Value("${reminders.lead-minutes:60}")
+    private long leadMinutes;
+
+    @Value("${reminders.horizon-minutes:1440}")
+    private long horizonMinutes;
+
+    @Value("${reminders.batch-size:500}")
+    private int batchSize;
+
+    // Carga incremental: solo el tramo nuevo del horizonte, paginado por (due_date, id)
+    @Scheduled(fixedDelayString = "${reminders.load-interval-ms:60000}")
+    public void loadUpcoming() {
+        LocalDateTime from;
+        LocalDateTime to = LocalDateTime.now().plusMinutes(horizonMinutes);
+        synchronized (this) {
+            from = loadingUntil != null ? loadingUntil : LocalDateTime.now();
+            if (!to.isAfter(from)) {
+                return;
+            }
+            loadingUntil = to;
+        }
+
+        LocalDateTime afterDue = from;
+        Long afterId = Long.MAX_VALUE;
+        int loaded = 0;
+        List<TaskRepository.DueTask> page;
+        do {
+            page = taskRepository.findDueBetween(to, afterDue, afterId, Limit.of(batchSize));
+            synchronized (this) {
+                for (TaskRepository.DueTask task : page) {
+                    // Si la tarea cambió durante la carga, su programación más reciente prevalece
+                    if (!timers.containsKey(task.getId())) {
+                        schedule(task.getId(), task.getDueDate());
+                    }
+                }
+            }
+            if (!page.isEmpty()) {
+                TaskRepository.DueTask last = page.get(page.size() - 1);
+                afterDue = last.getDueDate();
+                afterId = last.getId();
+                loaded += page.size();
+            }
+        } while (page.size() >= batchSize);
+
+        if (loaded > 0) {
+            log.debug("Recordatorios cargados: {} tareas con vencimiento hasta {}", loaded, to);
+        }
+    }
+
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void fireDue() {
+        fireDue(System.currentTimeMillis());
+    }
+
+    void fireDue(long nowMillis) {
+        List<Reminder> expired;
+        synchronized (this) {
+            expired = wheel.advance(nowMillis);
+            for (Reminder reminder : expired) {
+                if (reminder.type() == TaskDueEvent.Type.OVERDUE) {
+                    timers.remove(reminder.taskId());
+                }
+            }
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        Map<TaskDueEvent.Type, List<Reminder>> byType = expired.stream()
+                .collect(Collectors.groupingBy(Reminder::type));
+        for (Map.Entry<TaskDueEvent.Type, List<Reminder>> entry : byType.entrySet()) {
+            List<Reminder> reminders = entry.getValue();
+            for (int start = 0; start < reminders.size(); start += batchSize) {
+                List<Long> taskIds = stillDue(reminders.subList(start, Math.min(start + batchSize, reminders.size())));
+                if (!taskIds.isEmpty()) {
+                    eventPublisher.publishEvent(new TaskDueEvent(entry.getKey(), taskIds));
+                }
+            }
+        }
+    }
+
+    // Llamado por TaskService al crear, editar o mover una tarea; se aplica cuando la transacción confirma
+    public void taskChanged(Long taskId, LocalDateTime dueDate, boolean open) {
+        Runnable change = () -> reschedule(taskId, open ? dueDate : null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    public void taskDeleted(Long taskId) {
+        taskChanged(taskId, null, false);
+    }
+
+    synchronized int scheduledCount() {
+        return wheel.size();
+    }
+
+    private synchronized void reschedule(Long taskId, LocalDateTime dueDate) {
+        Timers existing = timers.remove(taskId);
+        if (existing != null) {
+            existing.cancel();
+        }
+        // Fuera del horizonte cargado: la carga incremental la recogerá cuando entre en él
+        if (dueDate != null && loadingUntil != null && !dueDate.isAfter(loadingUntil)) {
+            schedule(taskId, dueDate);
+        }
+    }
+
+    // Debe llamarse con el monitor tomado
+    private void schedule(Long taskId, LocalDateTime dueDate) {
+        long dueMillis = toMillis(dueDate);
+        long reminderMillis = dueMillis - leadMinutes * 60_000;
+        HierarchicalTimingWheel.Timeout<Reminder> reminder = reminderMillis > wheel.currentTimeMillis()
+                ? wheel.schedule(new Reminder(taskId, dueDate, TaskDueEvent.Type.REMINDER), reminderMillis)
+                : null;
+        HierarchicalTimingWheel.Timeout<Reminder> overdue =
+                wheel.schedule(new Reminder(taskId, dueDate, TaskDueEvent.Type.OVERDUE), dueMillis);
+        timers.put(taskId, new Timers(reminder, overdue));
+    }
+
+    // Descarta las tareas que ya se completaron, se borraron o cambiaron de fecha desde que se programaron
+    private List<Long> stillDue(List<Reminder> reminders) {
+        Map<Long, LocalDateTime> current = new HashMap<>();
+        for (TaskRepository.DueTask task : taskRepository.findOpenDueTasks(
+                reminders.stream().map(Reminder::taskId).collect(Collectors.toList()))) {
+            current.put(task.getId(), task.getDueDate());
+        }
+        List<Long> taskIds = new ArrayList<>();
+        for (Reminder reminder : reminders) {
+            if (Objects.equals(current.get(reminder.taskId()), reminder.dueDate())) {
+                taskIds.add(reminder.taskId());
+            }
+        }
+        return taskIds;
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Reminder(Long taskId, LocalDateTime dueDate, TaskDueEvent.Type type) {
+    }
+
+    private record Timers(HierarchicalTimingWheel.Timeout<Reminder> reminder,
+                          HierarchicalTimingWheel.Timeout<Reminder> overdue) {
+        void cancel() {
+            if (reminder != null) {
+                reminder.cancel();
+            }
+            overdue.cancel();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.davivienda.projectapp.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.davivienda.projectapp.dto.LabelResponse;
+import com.davivienda.projectapp.model.Label;
+import com.davivienda.projectapp.repository.LabelRepository;
+import com.davivienda.projectapp.util.SingleFlight;
+
+import lombok.RequiredArgsConstructor;
+
+// Caché por proyecto de las etiquetas disponibles (propias + globales), indexadas por id.
+// evict solo limpia esta instancia: el TTL acota cuánto tardan las demás en ver los cambios
+@Component
+@RequiredArgsConstructor
+public class LabelCatalog {
+    private final LabelRepository labelRepository;
+    private final Map<Long, CachedCatalog> byProject = new ConcurrentHashMap<>();
+    // La consulta se hace fuera del mapa, sin retener su lock durante el acceso a la base; las peticiones
+    // simultáneas del mismo proyecto y generación comparten una sola carga
+    private final SingleFlight<Map.Entry<Long, Long>, CachedCatalog> loads = new SingleFlight<>();
+    // Sube con cada evict: una carga empezada antes no se guarda, porque puede no incluir el cambio
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${labels.catalog-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    public Map<Long, LabelResponse> getProjectLabels(Long projectId) {
+        CachedCatalog cached = byProject.get(projectId);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.labels();
+        }
+        long current = generation.get();
+        return loads.execute(Map.entry(projectId, current), () -> loadAndStore(projectId, current)).labels();
+    }
+
+    // Catálogo que contiene los ids pedidos si existen: una etiqueta creada en otra instancia
+    // todavía no está en la caché local, así que antes de darla por inexistente se recarga el proyecto
+    public Map<Long, LabelResponse> getProjectLabels(Long projectId, Collection<Long> requiredIds) {
+        Map<Long, LabelResponse> labels = getProjectLabels(projectId);
+        if (labels.keySet().containsAll(requiredIds)) {
+            return labels;
+        }
+        return loadAndStore(projectId, generation.get()).labels();
+    }
+
+    // Invalida el proyecto (o todos, si la etiqueta es global) cuando la transacción confirma
+    public void evict(Long projectId) {
+        Runnable eviction = () -> {
+            generation.incrementAndGet();
+            if (projectId == null) {
+                byProject.clear();
+            } else {
+                byProject.remove(projectId);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private CachedCatalog loadAndStore(Long projectId, long loadGeneration) {
+        CachedCatalog loaded = load(projectId);
+        byProject.put(projectId, loaded);
+        // Un evict durante la consulta pudo borrar la entrada antes de este put
+        if (generation.get() != loadGeneration) {
+            byProject.remove(projectId, loaded);
+        }
+        return loaded;
+    }
+
+    private CachedCatalog load(Long projectId) {
+        List<Label> labels = labelRepository.findAvailableForProject(projectId);
+        Map<Long, LabelResponse> catalog = new LinkedHashMap<>();
+        for (Label label : labels) {
+            LabelResponse response = new LabelResponse();
+            response.setId(label.getId());
+            response.setName(label.getName());
+            response.setColor(label.getColor());
+            response.setProjectId(label.getProject() != null ? label.getProject().getId() : null);
+            catalog.put(label.getId(), response);
+        }
+        return new CachedCatalog(Collections.unmodifiableMap(catalog), System.currentTimeMillis() + ttlSeconds * 1000);
+    }
+
+    private record CachedCatalog(Map<Long, LabelResponse> labels, long expiresAt) {
+    }
+}
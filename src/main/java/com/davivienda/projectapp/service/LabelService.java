@@ -1,8 +1,16 @@
 package com.davivienda.projectapp.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,11 +20,15 @@ import com.davivienda.projectapp.model.Label;
 import com.davivienda.projectapp.model.Project;
 import com.davivienda.projectapp.model.User;
 import com.davivienda.projectapp.repository.LabelRepository;
+import com.davivienda.projectapp.repository.LabelUsageRepository;
 import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.TaskRepository;
 import com.davivienda.projectapp.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class LabelService {
@@ -24,6 +36,24 @@ public class LabelService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final PermissionService permissionService;
+    private final LabelCatalog labelCatalog;
+    private final LabelUsageRepository labelUsageRepository;
+    private final TaskRepository taskRepository;
+    private final AuditService auditService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectSummaryService projectSummaryService;
+
+    // uk_labels_project_name no cubre las globales: PostgreSQL trata cada project_id NULL como
+    // distinto, así que su unicidad por nombre necesita un índice parcial que ddl-auto no crea
+    @EventListener(ApplicationReadyEvent.class)
+    public void createGlobalNameIndex() {
+        try {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_labels_global_name " +
+                    "ON labels (name) WHERE project_id IS NULL");
+        } catch (DataAccessException e) {
+            log.warn("No se pudo crear uk_labels_global_name; revisa si hay labels globales con el mismo nombre", e);
+        }
+    }
 
     @Transactional
     public LabelResponse createLabel(LabelRequest request, String username) {
@@ -35,12 +65,26 @@ public class LabelService {
             throw new IllegalArgumentException("Usuario no autenticado");
         }
 
+        // Las labels de proyecto solo pueden crearlas sus miembros; sin proyecto la label es global
+        Project project = null;
+        if (request.getProjectId() != null) {
+            project = projectRepository.findById(request.getProjectId())
+                    .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+            if (!permissionService.canViewProject(user, project)) {
+                throw new IllegalArgumentException("No tienes permisos para crear labels en este proyecto");
+            }
+        }
+
         Label label = Label.builder()
                 .name(request.getName())
                 .color(request.getColor())
+                .project(project)
                 .build();
 
-        label = labelRepository.save(label);
+        label = saveUnique(label);
+        labelCatalog.evict(request.getProjectId());
+        auditService.record(AuditService.LABEL, label.getId(), request.getProjectId(), AuditService.CREATE, username,
+                null, labelSnapshot(label));
         return mapToLabelResponse(label);
     }
 
@@ -52,6 +96,10 @@ public class LabelService {
         Label label = labelRepository.findById(labelId)
                 .orElseThrow(() -> new IllegalArgumentException("Label no encontrado"));
 
+        if (label.getProject() != null && !permissionService.canViewProject(user, label.getProject())) {
+            throw new IllegalArgumentException("No tienes permisos para ver esta label");
+        }
+
         return mapToLabelResponse(label);
     }
 
@@ -60,7 +108,8 @@ public class LabelService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
 
-        List<Label> labels = labelRepository.findAll();
+        // Solo las labels globales; las de cada proyecto se consultan con getProjectLabels
+        List<Label> labels = labelRepository.findByProjectIsNullOrderByName();
         return labels.stream()
                 .map(this::mapToLabelResponse)
                 .collect(Collectors.toList());
@@ -78,10 +127,7 @@ public class LabelService {
             throw new IllegalArgumentException("No tienes permisos para ver las labels de este proyecto");
         }
 
-        List<Label> labels = labelRepository.findAll();
-        return labels.stream()
-                .map(this::mapToLabelResponse)
-                .collect(Collectors.toList());
+        return new ArrayList<>(labelCatalog.getProjectLabels(projectId).values());
     }
 
     @Transactional
@@ -92,13 +138,22 @@ public class LabelService {
         Label label = labelRepository.findById(labelId)
                 .orElseThrow(() -> new IllegalArgumentException("Label no encontrado"));
 
-        // Para simplificar, cualquier usuario autenticado puede editar labels
-        // En un sistema más complejo, podrías agregar permisos específicos
+        // Las labels globales las puede editar cualquier usuario autenticado;
+        // las de proyecto, solo sus miembros
+        if (label.getProject() != null && !permissionService.canViewProject(user, label.getProject())) {
+            throw new IllegalArgumentException("No tienes permisos para editar esta label");
+        }
 
+        Map<String, Object> before = labelSnapshot(label);
         label.setName(request.getName());
         label.setColor(request.getColor());
 
-        label = labelRepository.save(label);
+        label = saveUnique(label);
+        labelCatalog.evict(projectIdOf(label));
+        // Las tareas muestran nombre y color de sus labels
+        projectSummaryService.taskViewsChanged(projectIdOf(label));
+        auditService.record(AuditService.LABEL, label.getId(), projectIdOf(label), AuditService.UPDATE, username,
+                before, labelSnapshot(label));
         return mapToLabelResponse(label);
     }
 
@@ -110,10 +165,38 @@ public class LabelService {
         Label label = labelRepository.findById(labelId)
                 .orElseThrow(() -> new IllegalArgumentException("Label no encontrado"));
 
-        // Para simplificar, cualquier usuario autenticado puede eliminar labels
-        // En un sistema más complejo, podrías agregar permisos específicos
+        if (label.getProject() != null && !permissionService.canViewProject(user, label.getProject())) {
+            throw new IllegalArgumentException("No tienes permisos para eliminar esta label");
+        }
 
+        // Quitar la label de las tareas con una sola sentencia antes de borrarla
+        taskRepository.removeLabelFromAllTasks(labelId);
+        labelUsageRepository.deleteByLabelId(labelId);
         labelRepository.delete(label);
+        labelCatalog.evict(projectIdOf(label));
+        projectSummaryService.taskViewsChanged(projectIdOf(label));
+        auditService.record(AuditService.LABEL, labelId, projectIdOf(label), AuditService.DELETE, username,
+                labelSnapshot(label), null);
+    }
+
+    // El índice único (project_id, name) rechaza nombres repetidos dentro del proyecto
+    private Label saveUnique(Label label) {
+        try {
+            return labelRepository.saveAndFlush(label);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Ya existe una label con ese nombre");
+        }
+    }
+
+    private Map<String, Object> labelSnapshot(Label label) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("name", label.getName());
+        snapshot.put("color", label.getColor());
+        return snapshot;
+    }
+
+    private Long projectIdOf(Label label) {
+        return label.getProject() != null ? label.getProject().getId() : null;
     }
 
     private LabelResponse mapToLabelResponse(Label label) {
@@ -121,6 +204,7 @@ public class LabelService {
         response.setId(label.getId());
         response.setName(label.getName());
         response.setColor(label.getColor());
+        response.setProjectId(projectIdOf(label));
         return response;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.davivienda.projectapp.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.davivienda.projectapp.dto.LabelResponse;
+import com.davivienda.projectapp.dto.LabelUsageResponse;
+import com.davivienda.projectapp.model.LabelUsage;
+import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.TaskStatus;
+import com.davivienda.projectapp.model.User;
+import com.davivienda.projectapp.repository.LabelUsageRepository;
+import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class LabelUsageService {
+    private final LabelUsageRepository labelUsageRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final PermissionService permissionService;
+    private final LabelCatalog labelCatalog;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (labelUsageRepository.needsRebuild()) {
+            labelUsageRepository.rebuildAll();
+        }
+    }
+
+    // Ajusta los contadores de una tarea comparando sus labels y estado antes y después del cambio.
+    // Con el mismo estado solo se tocan las labels añadidas o quitadas.
+    @Transactional
+    public void recordTaskChange(Long projectId,
+                                 Collection<Long> oldLabelIds, TaskStatus oldStatus,
+                                 Collection<Long> newLabelIds, TaskStatus newStatus) {
+        Set<Long> before = oldLabelIds != null ? new HashSet<>(oldLabelIds) : Set.of();
+        Set<Long> after = newLabelIds != null ? new HashSet<>(newLabelIds) : Set.of();
+
+        if (oldStatus != null && oldStatus == newStatus) {
+            Set<Long> removed = new HashSet<>(before);
+            removed.removeAll(after);
+            Set<Long> added = new HashSet<>(after);
+            added.removeAll(before);
+            increment(projectId, removed, oldStatus, -1);
+            increment(projectId, added, newStatus, 1);
+        } else {
+            increment(projectId, before, oldStatus, -1);
+            increment(projectId, after, newStatus, 1);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<LabelUsageResponse> getProjectLabelUsage(Long projectId, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+
+        if (!permissionService.canViewProject(user, project)) {
+            throw new IllegalArgumentException("No tienes permisos para ver las labels de este proyecto");
+        }
+
+        // Todas las labels del catálogo aparecen, incluso las que no tienen tareas
+        Map<Long, LabelUsageResponse> histogram = new LinkedHashMap<>();
+        for (LabelResponse label : labelCatalog.getProjectLabels(projectId).values()) {
+            LabelUsageResponse response = new LabelUsageResponse();
+            response.setLabelId(label.getId());
+            response.setName(label.getName());
+            response.setColor(label.getColor());
+            response.setByStatus(new EnumMap<>(TaskStatus.class));
+            histogram.put(label.getId(), response);
+        }
+
+        for (LabelUsage usage : labelUsageRepository.findByProjectId(projectId)) {
+            LabelUsageResponse response = histogram.get(usage.getLabelId());
+            if (response == null || usage.getTaskCount() <= 0) {
+                continue;
+            }
+            response.getByStatus().put(usage.getStatus(), usage.getTaskCount());
+            response.setTotal(response.getTotal() + usage.getTaskCount());
+        }
+        return new ArrayList<>(histogram.values());
+    }
+
+    private void increment(Long projectId, Set<Long> labelIds, TaskStatus status, long delta) {
+        if (status == null || labelIds.isEmpty()) {
+            return;
+        }
+        labelUsageRepository.increment(projectId, labelIds, status.name(), delta);
+    }
+}
@@ -0,0 +1,121 @@
+package com.davivienda.projectapp.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.davivienda.projectapp.event.DomainEvent;
+import com.davivienda.projectapp.event.OutboxSink;
+import com.davivienda.projectapp.model.OutboxEvent;
+import com.davivienda.projectapp.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Drena el outbox en segundo plano por lotes y publica cada evento en el OutboxSink
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // Valores expuestos como métricas; se actualizan al final de cada pasada
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+
+    @Value("${outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Eventos del outbox pendientes de publicar")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Antigüedad del evento pendiente más antiguo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("outbox.parked", parked, AtomicLong::get)
+                .description("Eventos del outbox aparcados tras agotar los reintentos")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void relay() {
+        int published;
+        do {
+            Integer result = transactionTemplate.execute(status -> publishBatch());
+            published = result != null ? result : 0;
+        } while (published >= batchSize);
+        refreshBacklog();
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 0 4 * * *}")
+    public void cleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        log.info("Outbox: {} eventos publicados eliminados", deleted);
+    }
+
+    // Los eventos bloqueados quedan fuera del alcance de otras instancias hasta el commit. Si el sink
+    // falla, se marcan los ya publicados y el resto se reintenta en la próxima pasada, en orden. El orden
+    // es por instancia: con SKIP LOCKED otra instancia puede publicar ids posteriores mientras este lote
+    // sigue abierto. Un evento que agota outbox.max-attempts se aparca para no bloquear a los siguientes
+    private int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+        List<Long> published = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                outboxSink.publish(toDomainEvent(event));
+                published.add(event.getId());
+            } catch (RuntimeException e) {
+                outboxEventRepository.markFailed(event.getId(), e.getMessage(), maxAttempts);
+                if (event.getAttempts() + 1 >= maxAttempts) {
+                    log.error("Outbox: evento {} aparcado tras {} intentos fallidos ({})",
+                            event.getId(), event.getAttempts() + 1, e.getMessage());
+                } else {
+                    log.warn("Outbox: fallo al publicar el evento {} ({})", event.getId(), e.getMessage());
+                }
+                break;
+            }
+        }
+        if (!published.isEmpty()) {
+            outboxEventRepository.markPublished(published);
+        }
+        // Un fallo corta la repetición aunque el lote estuviera lleno
+        return published.size() == events.size() ? published.size() : 0;
+    }
+
+    private void refreshBacklog() {
+        OutboxEventRepository.Backlog backlog = outboxEventRepository.findBacklog();
+        pending.set(backlog != null && backlog.getPending() != null ? backlog.getPending() : 0);
+        LocalDateTime oldest = backlog != null ? backlog.getOldest() : null;
+        lagSeconds.set(oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds()) : 0);
+        parked.set(backlog != null && backlog.getParked() != null ? backlog.getParked() : 0);
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent event) {
+        return new DomainEvent(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -1,11 +1,13 @@
 package com.davivienda.projectapp.service;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
 import com.davivienda.projectapp.model.Project;
 import com.davivienda.projectapp.model.ProjectRole;
+import com.davivienda.projectapp.model.ProjectSummary;
 import com.davivienda.projectapp.model.Task;
 import com.davivienda.projectapp.model.User;
 import com.davivienda.projectapp.model.UserProject;
@@ -33,6 +35,14 @@ public class PermissionService {
         return userProjectRepository.existsByUserAndProject(user, project);
     }
 
+    // Misma regla sobre la fila de project_summaries, sin consultar user_projects
+    public boolean canViewProject(User user, ProjectSummary summary) {
+        if (summary.getCreatedByUsername().equals(user.getUsername())) {
+            return true;
+        }
+        return summary.getMemberIds() != null && Arrays.asList(summary.getMemberIds()).contains(user.getId());
+    }
+
     public boolean canEditProject(User user, Project project) {
         // El creador siempre puede editar
         if (project.getCreatedBy().getId().equals(user.getId())) {
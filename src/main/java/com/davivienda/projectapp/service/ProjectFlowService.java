@@ -0,0 +1,142 @@
+package com.davivienda.projectapp.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.davivienda.projectapp.dto.CumulativeFlowResponse;
+import com.davivienda.projectapp.dto.DailyStatusPoint;
+import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.ProjectDailyStatus;
+import com.davivienda.projectapp.model.TaskStatus;
+import com.davivienda.projectapp.model.User;
+import com.davivienda.projectapp.repository.ProjectDailyStatusRepository;
+import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Series diarias por estado (burndown y cumulative flow) mantenidas con deltas en project_daily_status
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectFlowService {
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_RANGE_DAYS = 731;
+
+    private final ProjectDailyStatusRepository dailyStatusRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final PermissionService permissionService;
+
+    @Value("${flow.gap-fill-days:7}")
+    private int gapFillDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (dailyStatusRepository.needsRebuild()) {
+            dailyStatusRepository.rebuild(LocalDate.now());
+        }
+    }
+
+    // Llamado por TaskService en la misma transacción que el cambio; null significa creada o borrada
+    @Transactional
+    public void recordStatusChange(Long projectId, TaskStatus oldStatus, TaskStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        dailyStatusRepository.seedDay(projectId, today);
+        if (oldStatus != null) {
+            dailyStatusRepository.increment(projectId, today, oldStatus.name(), -1);
+        }
+        if (newStatus != null) {
+            dailyStatusRepository.increment(projectId, today, newStatus.name(), 1);
+        }
+    }
+
+    // Deja una foto por día aunque no haya habido cambios, para que la serie sea una lectura directa
+    @Scheduled(cron = "${flow.gap-fill-cron:0 15 0 * * *}")
+    @Transactional
+    public void fillGaps() {
+        LocalDate today = LocalDate.now();
+        int filled = dailyStatusRepository.fillGaps(today.minusDays(gapFillDays), today);
+        if (filled > 0) {
+            log.info("Series diarias: {} filas completadas", filled);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CumulativeFlowResponse getCumulativeFlow(Long projectId, LocalDate from, LocalDate to, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+
+        if (!permissionService.canViewProject(user, project)) {
+            throw new IllegalArgumentException("No tienes permisos para ver las métricas de este proyecto");
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("La fecha inicial debe ser anterior a la final");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("El rango no puede superar " + MAX_RANGE_DAYS + " días");
+        }
+
+        // Las filas llegan ordenadas por día; un día sin filas repite la última foto conocida
+        List<ProjectDailyStatus> rows = dailyStatusRepository.findSeries(projectId, start, end);
+        List<DailyStatusPoint> points = new ArrayList<>();
+        Map<TaskStatus, Long> current = new EnumMap<>(TaskStatus.class);
+        LocalDate currentDay = null;
+        int next = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            while (next < rows.size() && !rows.get(next).getDay().isAfter(day)) {
+                ProjectDailyStatus row = rows.get(next++);
+                if (!row.getDay().equals(currentDay)) {
+                    current = new EnumMap<>(TaskStatus.class);
+                    currentDay = row.getDay();
+                }
+                current.put(row.getStatus(), row.getTaskCount());
+            }
+            points.add(mapToDailyStatusPoint(day, current));
+        }
+
+        CumulativeFlowResponse response = new CumulativeFlowResponse();
+        response.setFrom(start);
+        response.setTo(end);
+        response.setPoints(points);
+        return response;
+    }
+
+    private DailyStatusPoint mapToDailyStatusPoint(LocalDate day, Map<TaskStatus, Long> counts) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = Math.max(0, counts.getOrDefault(status, 0L));
+            byStatus.put(status, count);
+            total += count;
+        }
+        DailyStatusPoint point = new DailyStatusPoint();
+        point.setDay(day);
+        point.setByStatus(byStatus);
+        point.setTotal(total);
+        point.setRemaining(total - byStatus.get(TaskStatus.DONE));
+        return point;
+    }
+}
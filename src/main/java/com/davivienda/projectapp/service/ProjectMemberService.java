@@ -1,15 +1,25 @@
 package com.davivienda.projectapp.service;
 
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.davivienda.projectapp.dto.ProjectMemberRequest;
+import com.davivienda.projectapp.dto.MemberWorkloadResponse;
 import com.davivienda.projectapp.dto.ProjectMemberResponse;
 import com.davivienda.projectapp.model.Project;
 import com.davivienda.projectapp.model.ProjectRole;
+import com.davivienda.projectapp.model.TaskPriority;
+import com.davivienda.projectapp.model.TaskStatus;
 import com.davivienda.projectapp.model.User;
 import com.davivienda.projectapp.model.UserProject;
 import com.davivienda.projectapp.repository.ProjectRepository;
@@ -21,10 +31,25 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 public class ProjectMemberService {
+    private static final Map<TaskPriority, Integer> PRIORITY_WEIGHTS = Map.of(
+            TaskPriority.LOW, 1,
+            TaskPriority.MEDIUM, 2,
+            TaskPriority.HIGH, 3,
+            TaskPriority.URGENT, 5);
+
     private final UserProjectRepository userProjectRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final PermissionService permissionService;
+    private final AuditService auditService;
+    private final ProjectSummaryService projectSummaryService;
+
+    // Caché del reporte de carga por proyecto; los cambios de tareas se reflejan al vencer el TTL y los
+    // de miembros o el borrado del proyecto la invalidan al confirmar (evictWorkload)
+    private final Map<Long, CachedWorkload> workloadCache = new ConcurrentHashMap<>();
+
+    @Value("${workload.cache-ttl-seconds:30}")
+    private long workloadCacheTtlSeconds;
 
     @Transactional
     public ProjectMemberResponse addMember(Long projectId, ProjectMemberRequest request, String username) {
@@ -53,6 +78,10 @@ public class ProjectMemberService {
                 .build();
 
         userProject = userProjectRepository.save(userProject);
+        evictWorkload(projectId);
+        projectSummaryService.membersChanged(projectId);
+        auditService.record(AuditService.MEMBER, userToAdd.getId(), projectId, AuditService.CREATE, username,
+                null, memberSnapshot(userProject));
         return mapToProjectMemberResponse(userProject);
     }
 
@@ -98,8 +127,12 @@ public class ProjectMemberService {
             throw new IllegalArgumentException("No se puede cambiar el rol del propietario del proyecto");
         }
 
+        Map<String, Object> before = memberSnapshot(userProject);
         userProject.setRole(newRole);
         userProject = userProjectRepository.save(userProject);
+        evictWorkload(projectId);
+        auditService.record(AuditService.MEMBER, memberUser.getId(), projectId, AuditService.UPDATE, username,
+                before, memberSnapshot(userProject));
         return mapToProjectMemberResponse(userProject);
     }
 
@@ -127,6 +160,73 @@ public class ProjectMemberService {
         }
 
         userProjectRepository.delete(userProject);
+        evictWorkload(projectId);
+        projectSummaryService.membersChanged(projectId);
+        auditService.record(AuditService.MEMBER, memberUser.getId(), projectId, AuditService.DELETE, username,
+                memberSnapshot(userProject), null);
+    }
+
+    // Invalida el reporte cuando la transacción confirma: si se quitara antes, una lectura concurrente
+    // podría volver a guardar la membresía anterior durante todo el TTL
+    public void evictWorkload(Long projectId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    workloadCache.remove(projectId);
+                }
+            });
+        } else {
+            workloadCache.remove(projectId);
+        }
+    }
+
+    // Tareas abiertas y carga ponderada por miembro, agregadas en la base de datos
+    @Transactional(readOnly = true)
+    public List<MemberWorkloadResponse> getMemberWorkload(Long projectId, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+
+        if (!permissionService.canEditProject(user, project)) {
+            throw new IllegalArgumentException("No tienes permisos para ver la carga de trabajo del proyecto");
+        }
+
+        long now = System.currentTimeMillis();
+        CachedWorkload cached = workloadCache.get(projectId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.members();
+        }
+
+        List<MemberWorkloadResponse> members = buildWorkload(userProjectRepository.findWorkloadByProjectId(projectId));
+        workloadCache.put(projectId, new CachedWorkload(members, now + workloadCacheTtlSeconds * 1000));
+        return members;
+    }
+
+    private List<MemberWorkloadResponse> buildWorkload(List<UserProjectRepository.WorkloadRow> rows) {
+        Map<String, MemberWorkloadResponse> members = new LinkedHashMap<>();
+        for (UserProjectRepository.WorkloadRow row : rows) {
+            MemberWorkloadResponse member = members.computeIfAbsent(row.getUsername(), name -> {
+                MemberWorkloadResponse workload = new MemberWorkloadResponse();
+                workload.setUsername(name);
+                workload.setRole(ProjectRole.valueOf(row.getRole()));
+                workload.setByStatus(new EnumMap<>(TaskStatus.class));
+                workload.setByPriority(new EnumMap<>(TaskPriority.class));
+                return workload;
+            });
+            // Miembro sin tareas abiertas: la fila del LEFT JOIN no tiene estado ni prioridad
+            if (row.getStatus() == null) {
+                continue;
+            }
+            TaskPriority priority = TaskPriority.valueOf(row.getPriority());
+            member.setOpenTasks(member.getOpenTasks() + row.getTotal());
+            member.setLoad(member.getLoad() + row.getTotal() * PRIORITY_WEIGHTS.get(priority));
+            member.getByStatus().merge(TaskStatus.valueOf(row.getStatus()), row.getTotal(), Long::sum);
+            member.getByPriority().merge(priority, row.getTotal(), Long::sum);
+        }
+        return List.copyOf(members.values());
     }
 
     @Transactional
@@ -146,6 +246,7 @@ public class ProjectMemberService {
                     .role(ProjectRole.OWNER)
                     .build();
             userProject = userProjectRepository.save(userProject);
+            projectSummaryService.membersChanged(projectId);
             return mapToProjectMemberResponse(userProject);
         } else {
             // Ya es miembro, retorna el registro existente
@@ -155,6 +256,14 @@ public class ProjectMemberService {
         }
     }
 
+    // Las membresías se auditan por id de usuario dentro del proyecto
+    private Map<String, Object> memberSnapshot(UserProject userProject) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("username", userProject.getUser().getUsername());
+        snapshot.put("role", userProject.getRole());
+        return snapshot;
+    }
+
     private ProjectMemberResponse mapToProjectMemberResponse(UserProject userProject) {
         ProjectMemberResponse response = new ProjectMemberResponse();
         response.setUsername(userProject.getUser().getUsername());
@@ -163,4 +272,7 @@ public class ProjectMemberService {
         response.setJoinedAt(userProject.getJoinedAt());
         return response;
     }
-} 
\ No newline at end of file
+
+    private record CachedWorkload(List<MemberWorkloadResponse> members, long expiresAt) {
+    }
+}
@@ -1,9 +1,14 @@
 package com.davivienda.projectapp.service;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,11 +17,23 @@ import com.davivienda.projectapp.dto.ProjectResponse;
 import com.davivienda.projectapp.model.Project;
 import com.davivienda.projectapp.model.ProjectRole;
 import com.davivienda.projectapp.model.ProjectStatus;
+import com.davivienda.projectapp.model.ProjectSummary;
+import com.davivienda.projectapp.model.Task;
+import com.davivienda.projectapp.model.TaskStatus;
 import com.davivienda.projectapp.model.User;
 import com.davivienda.projectapp.model.UserProject;
+import com.davivienda.projectapp.repository.LabelRepository;
+import com.davivienda.projectapp.repository.LabelUsageRepository;
+import com.davivienda.projectapp.repository.ProjectDailyStatusRepository;
 import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.ProjectSummaryRepository;
+import com.davivienda.projectapp.repository.TaskRepository;
+import com.davivienda.projectapp.repository.TaskStatusTransitionRepository;
 import com.davivienda.projectapp.repository.UserProjectRepository;
 import com.davivienda.projectapp.repository.UserRepository;
+import com.davivienda.projectapp.util.MergePatch;
+import com.davivienda.projectapp.util.SingleFlight;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,6 +44,20 @@ public class ProjectService {
     private final UserRepository userRepository;
     private final UserProjectRepository userProjectRepository;
     private final PermissionService permissionService;
+    private final TaskRepository taskRepository;
+    private final LabelRepository labelRepository;
+    private final LabelUsageRepository labelUsageRepository;
+    private final LabelCatalog labelCatalog;
+    private final OutboxService outboxService;
+    private final AuditService auditService;
+    private final TaskStatusTransitionRepository transitionRepository;
+    private final ProjectDailyStatusRepository dailyStatusRepository;
+    private final ProjectSummaryRepository summaryRepository;
+    private final ProjectSummaryService projectSummaryService;
+    private final ProjectMemberService projectMemberService;
+    private final DueDateReminderScheduler dueDateReminderScheduler;
+
+    private final SingleFlight<Map.Entry<Long, Long>, ProjectResponse> projectReads = new SingleFlight<>();
 
     @Transactional
     public ProjectResponse createProject(ProjectRequest request, String username) {
@@ -55,6 +86,11 @@ public class ProjectService {
                 .role(ProjectRole.OWNER)
                 .build();
         userProjectRepository.save(userProject);
+        projectSummaryService.projectCreated(project.getId());
+
+        Map<String, Object> snapshot = projectSnapshot(project);
+        outboxService.record(OutboxService.PROJECT, project.getId(), "ProjectCreated", snapshot);
+        auditService.record(AuditService.PROJECT, project.getId(), project.getId(), AuditService.CREATE, username, null, snapshot);
 
         // Recargar el proyecto para obtener las relaciones actualizadas
         project = projectRepository.findById(project.getId())
@@ -68,14 +104,16 @@ public class ProjectService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
 
-        Project project = projectRepository.findById(projectId)
+        ProjectSummary summary = projectSummaryService.findActive(projectId)
                 .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
 
-        if (!permissionService.canViewProject(user, project)) {
+        if (!permissionService.canViewProject(user, summary)) {
             throw new IllegalArgumentException("No tienes permisos para ver este proyecto");
         }
 
-        return mapToProjectResponse(project);
+        // Como el listado, el detalle sale de la fila del resumen sin cargar tareas ni miembros; las peticiones
+        // simultáneas de la misma revisión comparten la respuesta
+        return projectReads.execute(Map.entry(projectId, summary.getRevision()), () -> mapToProjectResponse(summary));
     }
 
     @Transactional(readOnly = true)
@@ -83,8 +121,18 @@ public class ProjectService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
 
-        List<Project> projects = projectRepository.findProjectsByUser(user);
-        return projects.stream()
+        // Una fila de project_summaries por proyecto, sin cargar tareas ni membresías
+        return summaryRepository.findActiveByMember(user.getId()).stream()
+                .map(this::mapToProjectResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectResponse> getArchivedProjects(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        return summaryRepository.findArchivedByMember(user.getId()).stream()
                 .map(this::mapToProjectResponse)
                 .collect(Collectors.toList());
     }
@@ -100,6 +148,8 @@ public class ProjectService {
         if (!permissionService.canEditProject(user, project)) {
             throw new IllegalArgumentException("No tienes permisos para editar este proyecto");
         }
+        checkVersion(project, request.getVersion());
+        Map<String, Object> before = projectSnapshot(project);
 
         project.setName(request.getName());
         project.setDescription(request.getDescription());
@@ -107,7 +157,49 @@ public class ProjectService {
             project.setStatus(request.getStatus());
         }
 
-        project = projectRepository.save(project);
+        // flush para que la versión devuelta (y publicada) ya incluya este cambio
+        project = projectRepository.saveAndFlush(project);
+        projectSummaryService.projectUpdated(project);
+        Map<String, Object> after = projectSnapshot(project);
+        outboxService.record(OutboxService.PROJECT, project.getId(), "ProjectUpdated", after);
+        auditService.record(AuditService.PROJECT, project.getId(), project.getId(), AuditService.UPDATE, username, before, after);
+        return mapToProjectResponse(project);
+    }
+
+    // JSON Merge Patch: solo se modifican los campos presentes y el UPDATE incluye solo esas columnas
+    @Transactional
+    public ProjectResponse patchProject(Long projectId, JsonNode patch, Long expectedVersion, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+
+        if (!permissionService.canEditProject(user, project)) {
+            throw new IllegalArgumentException("No tienes permisos para editar este proyecto");
+        }
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("El cuerpo debe ser un objeto JSON");
+        }
+        checkVersion(project, expectedVersion != null ? expectedVersion : MergePatch.id(patch, "version"));
+        Map<String, Object> before = projectSnapshot(project);
+
+        if (patch.has("name")) {
+            project.setName(MergePatch.requiredText(patch, "name"));
+        }
+        if (patch.has("description")) {
+            project.setDescription(MergePatch.text(patch, "description"));
+        }
+        if (patch.has("status")) {
+            project.setStatus(MergePatch.requiredEnum(patch, "status", ProjectStatus.class));
+        }
+
+        // flush para que la versión devuelta (y publicada) ya incluya este cambio
+        project = projectRepository.saveAndFlush(project);
+        projectSummaryService.projectUpdated(project);
+        Map<String, Object> after = projectSnapshot(project);
+        outboxService.record(OutboxService.PROJECT, project.getId(), "ProjectUpdated", after);
+        auditService.record(AuditService.PROJECT, project.getId(), project.getId(), AuditService.UPDATE, username, before, after);
         return mapToProjectResponse(project);
     }
 
@@ -123,20 +215,71 @@ public class ProjectService {
             throw new IllegalArgumentException("No tienes permisos para eliminar este proyecto");
         }
 
-        projectRepository.delete(project);
+        Map<String, Object> before = projectSnapshot(project);
+        purgeProject(project.getId());
+        outboxService.record(OutboxService.PROJECT, projectId, "ProjectDeleted", Map.of("id", projectId));
+        auditService.record(AuditService.PROJECT, projectId, projectId, AuditService.DELETE, username, before, null);
+    }
+
+    // Borra el proyecto con sentencias DELETE masivas en orden de dependencias, sin cargar
+    // tareas, labels ni membresías como hacía la cascada de JPA
+    private void purgeProject(Long projectId) {
+        // El borrado masivo no pasa por deleteTask: se recogen antes los ids para cancelar sus recordatorios
+        List<Long> taskIds = taskRepository.findIdsByProjectId(projectId);
+        labelUsageRepository.deleteByProjectId(projectId);
+        transitionRepository.deleteByProjectId(projectId);
+        dailyStatusRepository.deleteByProjectId(projectId);
+        taskRepository.deleteLabelLinksByProjectId(projectId);
+        taskRepository.deleteByProjectId(projectId);
+        labelRepository.deleteByProjectId(projectId);
+        userProjectRepository.deleteByProjectId(projectId);
+        projectSummaryService.projectDeleted(projectId);
+        projectRepository.deleteByIdDirect(projectId);
+        labelCatalog.evict(projectId);
+        projectMemberService.evictWorkload(projectId);
+        taskIds.forEach(dueDateReminderScheduler::taskDeleted);
+    }
+
+    private Map<String, Object> projectSnapshot(Project project) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", project.getId());
+        event.put("version", project.getVersion());
+        event.put("name", project.getName());
+        event.put("description", project.getDescription());
+        event.put("status", project.getStatus());
+        return event;
+    }
+
+    private void checkVersion(Project project, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Project.class, project.getId());
+        }
     }
 
     private ProjectResponse mapToProjectResponse(Project project) {
         ProjectResponse response = new ProjectResponse();
         response.setId(project.getId());
+        response.setVersion(project.getVersion());
         response.setName(project.getName());
         response.setDescription(project.getDescription());
         response.setStatus(project.getStatus());
         response.setCreatedBy(project.getCreatedBy().getUsername());
         response.setCreatedAt(project.getCreatedAt());
         
+        response.setLastActivityAt(project.getUpdatedAt() != null ? project.getUpdatedAt() : project.getCreatedAt());
+
         // Verificar si las colecciones no son null antes de llamar size()
         response.setTaskCount(project.getTasks() != null ? project.getTasks().size() : 0);
+        Map<TaskStatus, Integer> taskCounts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            taskCounts.put(status, 0);
+        }
+        if (project.getTasks() != null) {
+            for (Task task : project.getTasks()) {
+                taskCounts.merge(task.getStatus(), 1, Integer::sum);
+            }
+        }
+        response.setTaskCountsByStatus(taskCounts);
         response.setMemberCount(project.getUserProjects() != null ? project.getUserProjects().size() : 0);
         
         // Verificar si userProjects no es null antes de hacer stream
@@ -149,4 +292,30 @@ public class ProjectService {
         
         return response;
     }
-} 
\ No newline at end of file
+
+    private ProjectResponse mapToProjectResponse(ProjectSummary summary) {
+        ProjectResponse response = new ProjectResponse();
+        response.setId(summary.getProjectId());
+        response.setVersion(summary.getVersion());
+        response.setName(summary.getName());
+        response.setDescription(summary.getDescription());
+        response.setStatus(summary.getStatus());
+        response.setCreatedBy(summary.getCreatedByUsername());
+        response.setCreatedAt(summary.getCreatedAt());
+        response.setLastActivityAt(summary.getLastActivityAt());
+
+        Map<TaskStatus, Integer> taskCounts = new EnumMap<>(TaskStatus.class);
+        taskCounts.put(TaskStatus.TODO, summary.getTodoCount());
+        taskCounts.put(TaskStatus.IN_PROGRESS, summary.getInProgressCount());
+        taskCounts.put(TaskStatus.REVIEW, summary.getReviewCount());
+        taskCounts.put(TaskStatus.DONE, summary.getDoneCount());
+        // getProject comparte la respuesta entre peticiones simultáneas: las colecciones no se pueden modificar
+        response.setTaskCountsByStatus(Collections.unmodifiableMap(taskCounts));
+        response.setTaskCount(taskCounts.values().stream().mapToInt(Integer::intValue).sum());
+
+        response.setMemberCount(summary.getMemberCount());
+        response.setMembers(summary.getMemberUsernames() != null
+                ? List.of(summary.getMemberUsernames()) : List.of());
+        return response;
+    }
+}
@@ -0,0 +1,102 @@
+package com.davivienda.projectapp.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.ProjectSummary;
+import com.davivienda.projectapp.model.TaskStatus;
+import com.davivienda.projectapp.repository.ProjectSummaryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Mantiene project_summaries en la misma transacción que cada cambio de proyectos, tareas y miembros
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectSummaryService {
+    private final ProjectSummaryRepository summaryRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        // ddl-auto no sabe crear índices GIN
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_project_summaries_members " +
+                "ON project_summaries USING gin (member_ids)");
+        if (summaryRepository.needsRebuild()) {
+            int rows = summaryRepository.refreshAll();
+            log.info("Resúmenes de proyectos reconstruidos: {}", rows);
+        }
+    }
+
+    // Fila de un proyecto no archivado: permisos y revisión sin cargar tareas ni miembros
+    @Transactional(readOnly = true)
+    public Optional<ProjectSummary> findActive(Long projectId) {
+        return summaryRepository.findById(projectId).filter(summary -> !summary.isArchived());
+    }
+
+    // Alta de proyecto: la fila se calcula completa (aún no tiene tareas y solo tiene al creador)
+    @Transactional
+    public void projectCreated(Long projectId) {
+        summaryRepository.refresh(projectId);
+    }
+
+    @Transactional
+    public void projectUpdated(Project project) {
+        summaryRepository.updateDetails(project.getId(), project.getVersion(), project.getName(),
+                project.getDescription(), project.getStatus().name(), LocalDateTime.now());
+    }
+
+    @Transactional
+    public void projectDeleted(Long projectId) {
+        summaryRepository.deleteByProjectId(projectId);
+    }
+
+    @Transactional
+    public void membersChanged(Long projectId) {
+        summaryRepository.refreshMembers(projectId);
+    }
+
+    // oldStatus null: tarea creada; newStatus null: tarea borrada; iguales: solo actividad
+    @Transactional
+    public void taskChanged(Long projectId, TaskStatus oldStatus, TaskStatus newStatus) {
+        int[] delta = new int[TaskStatus.values().length];
+        if (oldStatus != newStatus) {
+            if (oldStatus != null) {
+                delta[oldStatus.ordinal()]--;
+            }
+            if (newStatus != null) {
+                delta[newStatus.ordinal()]++;
+            }
+        }
+        summaryRepository.applyTaskDelta(projectId,
+                delta[TaskStatus.TODO.ordinal()], delta[TaskStatus.IN_PROGRESS.ordinal()],
+                delta[TaskStatus.REVIEW.ordinal()], delta[TaskStatus.DONE.ordinal()], LocalDateTime.now());
+    }
+
+    // Cambios que alteran las respuestas de tareas sin pasar por taskChanged, para que las lecturas
+    // agrupadas por (proyecto, revisión) no compartan una carga anterior. projectId null: label global,
+    // que puede aparecer en cualquier proyecto
+    @Transactional
+    public void taskViewsChanged(Long projectId) {
+        if (projectId != null) {
+            summaryRepository.bumpRevision(projectId);
+        } else {
+            summaryRepository.bumpAllRevisions();
+        }
+    }
+
+    // Reconciliación completa; la usa el archivado nocturno, que saca tareas y proyectos de los listados
+    @Transactional
+    public int refreshAll() {
+        return summaryRepository.refreshAll();
+    }
+}
@@ -0,0 +1,63 @@
+package com.davivienda.projectapp.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.davivienda.projectapp.model.Role;
+import com.davivienda.projectapp.repository.RoleRepository;
+import com.davivienda.projectapp.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class RoleService {
+    public static final String ADMIN = "ADMIN";
+    public static final String USER = "USER";
+
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+
+    // Los roles casi nunca cambian: se cargan una vez y se reutilizan en cada registro
+    private final Map<String, Role> roles = new ConcurrentHashMap<>();
+
+    // Una vez vista una fila en users ya no puede haber primer usuario: los registros
+    // siguientes reciben USER sin consultar la base
+    private volatile boolean usersExist;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void bootstrap() {
+        getRole(ADMIN);
+        getRole(USER);
+        usersExist = userRepository.existsAnyUser();
+    }
+
+    public Role getRole(String name) {
+        return roles.computeIfAbsent(name, key -> roleRepository.findByName(key)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(key).build())));
+    }
+
+    // Solo el primer usuario de la base recibe ADMIN. Mientras la tabla esté vacía la decisión
+    // se toma en la base bajo un advisory lock de la transacción del registro: los registros
+    // concurrentes de cualquier instancia esperan al commit del primero y ya ven su fila, y si
+    // ese registro falla el rollback libera el lock sin que nadie haya quedado como ADMIN
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Role roleForNewUser() {
+        if (usersExist) {
+            return getRole(USER);
+        }
+        userRepository.lockFirstUserClaim();
+        if (userRepository.existsAnyUser()) {
+            usersExist = true;
+            return getRole(USER);
+        }
+        return getRole(ADMIN);
+    }
+}
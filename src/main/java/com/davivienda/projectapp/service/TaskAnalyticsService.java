@@ -0,0 +1,98 @@
+package com.davivienda.projectapp.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.davivienda.projectapp.dto.FlowMetricsResponse;
+import com.davivienda.projectapp.dto.FlowPeriodResponse;
+import com.davivienda.projectapp.dto.StatusTimeResponse;
+import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.TaskStatus;
+import com.davivienda.projectapp.model.User;
+import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.TaskStatusTransitionRepository;
+import com.davivienda.projectapp.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Métricas de flujo calculadas en la base de datos a partir de task_status_transitions
+@Service
+@RequiredArgsConstructor
+public class TaskAnalyticsService {
+    private static final Set<String> PERIODS = Set.of("day", "week", "month");
+    private static final int DEFAULT_RANGE_DAYS = 90;
+
+    private final TaskStatusTransitionRepository transitionRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final PermissionService permissionService;
+
+    @Transactional(readOnly = true)
+    public FlowMetricsResponse getFlowMetrics(Long projectId, LocalDate from, LocalDate to, String period, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+
+        if (!permissionService.canViewProject(user, project)) {
+            throw new IllegalArgumentException("No tienes permisos para ver las métricas de este proyecto");
+        }
+
+        String unit = period != null ? period.toLowerCase() : "week";
+        if (!PERIODS.contains(unit)) {
+            throw new IllegalArgumentException("Periodo no válido: use day, week o month");
+        }
+        // Rango de días [from, to], ambos incluidos; por defecto los últimos 90 días
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("La fecha inicial debe ser anterior a la final");
+        }
+
+        List<FlowPeriodResponse> periods = transitionRepository
+                .findFlowByPeriod(projectId, start.atStartOfDay(), end.plusDays(1).atStartOfDay(), unit,
+                        TaskStatus.IN_PROGRESS.ordinal(), TaskStatus.DONE.ordinal()).stream()
+                .map(this::mapToFlowPeriodResponse)
+                .collect(Collectors.toList());
+        List<StatusTimeResponse> timeInStatus = transitionRepository
+                .findTimeInStatus(projectId, start.atStartOfDay(), end.plusDays(1).atStartOfDay()).stream()
+                .map(this::mapToStatusTimeResponse)
+                .collect(Collectors.toList());
+
+        FlowMetricsResponse response = new FlowMetricsResponse();
+        response.setFrom(start);
+        response.setTo(end);
+        response.setPeriod(unit);
+        response.setPeriods(periods);
+        response.setTimeInStatus(timeInStatus);
+        return response;
+    }
+
+    private FlowPeriodResponse mapToFlowPeriodResponse(TaskStatusTransitionRepository.FlowPeriodRow row) {
+        FlowPeriodResponse response = new FlowPeriodResponse();
+        response.setPeriodStart(LocalDate.parse(row.getPeriodStart()));
+        response.setThroughput(row.getThroughput());
+        response.setCycleTimeP50Hours(row.getCycleP50());
+        response.setCycleTimeP85Hours(row.getCycleP85());
+        response.setCycleTimeP95Hours(row.getCycleP95());
+        response.setLeadTimeP50Hours(row.getLeadP50());
+        response.setLeadTimeP85Hours(row.getLeadP85());
+        return response;
+    }
+
+    private StatusTimeResponse mapToStatusTimeResponse(TaskStatusTransitionRepository.StatusTimeRow row) {
+        StatusTimeResponse response = new StatusTimeResponse();
+        response.setStatus(TaskStatus.values()[row.getStatus()]);
+        response.setSamples(row.getSamples());
+        response.setAverageHours(row.getAverageHours());
+        response.setP50Hours(row.getP50());
+        response.setP85Hours(row.getP85());
+        return response;
+    }
+}
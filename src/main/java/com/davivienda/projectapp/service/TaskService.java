@@ -1,35 +1,87 @@
 package com.davivienda.projectapp.service;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.davivienda.projectapp.dto.BoardColumnResponse;
+import com.davivienda.projectapp.dto.BoardResponse;
+import com.davivienda.projectapp.dto.BulkLabelRequest;
+import com.davivienda.projectapp.dto.DashboardProjectResponse;
+import com.davivienda.projectapp.dto.DashboardResponse;
 import com.davivienda.projectapp.dto.LabelResponse;
+import com.davivienda.projectapp.dto.MoveTaskRequest;
+import com.davivienda.projectapp.dto.NormalizedTaskListResponse;
+import com.davivienda.projectapp.dto.NormalizedTaskResponse;
 import com.davivienda.projectapp.dto.TaskRequest;
 import com.davivienda.projectapp.dto.TaskResponse;
 import com.davivienda.projectapp.model.Label;
 import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.ProjectSummary;
 import com.davivienda.projectapp.model.Task;
 import com.davivienda.projectapp.model.TaskPriority;
 import com.davivienda.projectapp.model.TaskStatus;
+import com.davivienda.projectapp.model.TaskStatusTransition;
 import com.davivienda.projectapp.model.User;
-import com.davivienda.projectapp.repository.LabelRepository;
 import com.davivienda.projectapp.repository.ProjectRepository;
 import com.davivienda.projectapp.repository.TaskRepository;
+import com.davivienda.projectapp.repository.TaskStatusTransitionRepository;
 import com.davivienda.projectapp.repository.UserRepository;
+import com.davivienda.projectapp.util.BoardCursors;
+import com.davivienda.projectapp.util.MergePatch;
+import com.davivienda.projectapp.util.RankKeys;
+import com.davivienda.projectapp.util.SingleFlight;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
+    private static final int MAX_BOARD_PAGE_SIZE = 100;
+    private static final int MAX_DASHBOARD_UPCOMING = 50;
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
-    private final LabelRepository labelRepository;
     private final PermissionService permissionService;
+    private final LabelCatalog labelCatalog;
+    private final LabelUsageService labelUsageService;
+    private final ProjectFlowService projectFlowService;
+    private final ProjectSummaryService projectSummaryService;
+    private final DueDateReminderScheduler dueDateReminderScheduler;
+    private final OutboxService outboxService;
+    private final AuditService auditService;
+    private final TaskStatusTransitionRepository transitionRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    private final SingleFlight<Map.Entry<Long, Long>, List<TaskResponse>> projectTaskReads = new SingleFlight<>();
+    private final SingleFlight<Map.Entry<Long, Long>, NormalizedTaskListResponse> normalizedProjectTaskReads = new SingleFlight<>();
 
     @Transactional
     public TaskResponse createTask(TaskRequest request, String username) {
@@ -59,15 +111,27 @@ public class TaskService {
                 .createdBy(user)
                 .dueDate(request.getDueDate())
                 .build();
+        task.setCompletedAt(task.getStatus() == TaskStatus.DONE ? LocalDateTime.now() : null);
+        // Las tareas nuevas van al final de su columna
+        task.setRank(appendRank(project.getId(), task.getStatus()));
 
-        // Agregar labels si se especifican
-        if (request.getLabelIds() != null && !request.getLabelIds().isEmpty()) {
-            List<Label> labels = labelRepository.findAllById(request.getLabelIds());
-            task.setLabels(labels);
-        }
+        Set<Long> labelIds = request.getLabelIds() != null ? resolveLabels(project, request.getLabelIds()) : Set.of();
 
         task = taskRepository.save(task);
-        return mapToTaskResponse(task);
+
+        // Agregar labels si se especifican
+        if (!labelIds.isEmpty()) {
+            taskRepository.addLabels(task.getId(), labelIds);
+        }
+        labelUsageService.recordTaskChange(project.getId(), null, null, labelIds, task.getStatus());
+        projectFlowService.recordStatusChange(project.getId(), null, task.getStatus());
+        projectSummaryService.taskChanged(project.getId(), null, task.getStatus());
+        recordTransition(task, null, task.getCreatedAt() != null ? task.getCreatedAt() : LocalDateTime.now());
+        scheduleReminders(task);
+        Map<String, Object> snapshot = taskSnapshot(task, labelIds);
+        outboxService.record(OutboxService.TASK, task.getId(), "TaskCreated", snapshot);
+        auditService.record(AuditService.TASK, task.getId(), project.getId(), AuditService.CREATE, username, null, snapshot);
+        return mapToTaskResponse(task, labelIds);
     }
 
     @Transactional(readOnly = true)
@@ -87,28 +151,209 @@ public class TaskService {
 
     @Transactional(readOnly = true)
     public List<TaskResponse> getProjectTasks(Long projectId, String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+        ProjectSummary summary = loadViewableSummary(projectId, username);
+
+        // Las peticiones simultáneas de la misma revisión comparten una sola carga de las tareas
+        return projectTaskReads.execute(Map.entry(projectId, summary.getRevision()), () -> {
+            Project project = projectRepository.findById(projectId)
+                    .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+            return taskRepository.findByProject(project).stream()
+                    .map(this::mapToTaskResponse)
+                    .collect(Collectors.toUnmodifiableList());
+        });
+    }
 
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+    // Vista normalizada: se lee con proyecciones, sin cargar entidades, y cada usuario, etiqueta y proyecto
+    // se resuelve una sola vez para toda la respuesta
+    @Transactional(readOnly = true)
+    public NormalizedTaskListResponse getProjectTasksNormalized(Long projectId, String username) {
+        ProjectSummary summary = loadViewableSummary(projectId, username);
 
-        if (!permissionService.canViewProject(user, project)) {
-            throw new IllegalArgumentException("No tienes permisos para ver las tareas de este proyecto");
+        return normalizedProjectTaskReads.execute(Map.entry(projectId, summary.getRevision()), () ->
+                normalize(taskRepository.findRowsByProjectId(projectId),
+                        taskRepository.findLabelLinksByProjectId(projectId)));
+    }
+
+    // Se comprueba antes de empezar la respuesta en streaming, que después ya no puede cambiar de estado
+    @Transactional(readOnly = true)
+    public void checkCanViewProjectTasks(Long projectId, String username) {
+        loadViewableSummary(projectId, username);
+    }
+
+    // Lista completa en streaming: las tareas se cargan por bloques de ids y cada bloque se escribe en cuanto se
+    // mapea, sin construir la lista ni el cuerpo completos en memoria. No hay una transacción para todo el stream:
+    // cada bloque se lee en su propia transacción de solo lectura y se escribe fuera de ella, así que un cliente
+    // lento no deja una transacción abierta. Tras cada bloque se vacía el contexto de persistencia, que con
+    // open-in-view es el mismo durante toda la respuesta y acumularía todas las tareas
+    public void writeProjectTasks(Long projectId, String username, SequenceWriter writer) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<Long> ids = readOnly.execute(status -> {
+            loadViewableSummary(projectId, username);
+            return taskRepository.findIdsByProjectId(projectId);
+        });
+        for (int from = 0; from < ids.size(); from += STREAM_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + STREAM_CHUNK_SIZE));
+            List<TaskResponse> responses = readOnly.execute(status -> {
+                List<TaskResponse> mapped = mapCards(chunk, loadCards(chunk));
+                entityManager.clear();
+                return mapped;
+            });
+            for (TaskResponse response : responses) {
+                writer.write(response);
+            }
+            writer.flush();
         }
+    }
 
-        List<Task> tasks = taskRepository.findByProject(project);
+    @Transactional(readOnly = true)
+    public BoardResponse getProjectBoard(Long projectId, int limit, String username) {
+        ProjectSummary summary = loadViewableSummary(projectId, username);
+        int pageSize = boardPageSize(limit);
+
+        List<String> statuses = Arrays.stream(TaskStatus.values()).map(TaskStatus::name).collect(Collectors.toList());
+        List<TaskRepository.BoardCard> cards = taskRepository.findBoardCards(projectId, statuses, pageSize);
+        Map<Long, Task> tasks = loadCards(cards.stream().map(TaskRepository.BoardCard::getId).collect(Collectors.toList()));
+
+        Map<TaskStatus, BoardColumnResponse> columns = new EnumMap<>(TaskStatus.class);
+        Map<TaskStatus, TaskRepository.BoardCard> lastCards = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            BoardColumnResponse column = new BoardColumnResponse();
+            column.setStatus(status);
+            column.setTotal(columnTotal(summary, status));
+            column.setTasks(new ArrayList<>());
+            columns.put(status, column);
+        }
+        for (TaskRepository.BoardCard card : cards) {
+            TaskStatus status = TaskStatus.valueOf(card.getStatus());
+            BoardColumnResponse column = columns.get(status);
+            lastCards.put(status, card);
+            Task task = tasks.get(card.getId());
+            // Puede haberse borrado o archivado entre las dos consultas
+            if (task != null) {
+                column.getTasks().add(mapToTaskResponse(task));
+            }
+        }
+        // El cursor sale de la última tarjeta leída, aunque ya no se haya podido cargar
+        lastCards.forEach((status, card) -> {
+            if (pageSize < columns.get(status).getTotal()) {
+                columns.get(status).setNextCursor(BoardCursors.of(card.getBoardRank(), card.getId()));
+            }
+        });
+
+        BoardResponse response = new BoardResponse();
+        response.setProjectId(projectId);
+        response.setColumns(new ArrayList<>(columns.values()));
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public BoardColumnResponse getBoardColumn(Long projectId, TaskStatus status, String after, int limit, String username) {
+        ProjectSummary summary = loadViewableSummary(projectId, username);
+        int pageSize = boardPageSize(limit);
+
+        // Se pide una tarjeta de más para saber si la columna continúa
+        List<TaskRepository.ColumnCard> cards;
+        if (after == null) {
+            cards = taskRepository.findColumnPage(projectId, status.name(), pageSize + 1);
+        } else {
+            BoardCursors.Position position = BoardCursors.parse(after);
+            if (position.boardRank() == null) {
+                cards = taskRepository.findUnrankedColumnPageAfter(projectId, status.name(), position.id(), pageSize + 1);
+            } else {
+                cards = new ArrayList<>(taskRepository.findColumnPageAfter(projectId, status.name(),
+                        position.boardRank(), position.id(), pageSize + 1));
+                // Tras la última tarjeta con posición siguen las que aún no la tienen
+                if (cards.size() <= pageSize) {
+                    cards.addAll(taskRepository.findUnrankedColumnPageAfter(projectId, status.name(), 0L,
+                            pageSize + 1 - cards.size()));
+                }
+            }
+        }
+        boolean hasMore = cards.size() > pageSize;
+        if (hasMore) {
+            cards = cards.subList(0, pageSize);
+        }
+        List<Long> ids = cards.stream().map(TaskRepository.ColumnCard::getId).collect(Collectors.toList());
+        Map<Long, Task> tasks = loadCards(ids);
+
+        BoardColumnResponse column = new BoardColumnResponse();
+        column.setStatus(status);
+        column.setTotal(columnTotal(summary, status));
+        column.setTasks(mapCards(ids, tasks));
+        TaskRepository.ColumnCard last = hasMore ? cards.get(cards.size() - 1) : null;
+        column.setNextCursor(last != null ? BoardCursors.of(last.getBoardRank(), last.getId()) : null);
+        return column;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getUserTasks(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        List<Task> tasks = taskRepository.findByAssignedTo(user);
         return tasks.stream()
                 .map(this::mapToTaskResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
-    public List<TaskResponse> getUserTasks(String username) {
+    public NormalizedTaskListResponse getUserTasksNormalized(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
 
-        List<Task> tasks = taskRepository.findByAssignedTo(user);
+        return normalize(taskRepository.findRowsByAssignedTo(user.getId()),
+                taskRepository.findLabelLinksByAssignedTo(user.getId()));
+    }
+
+    // Dashboard "mi trabajo": una consulta agrupada para los conteos y otra para los próximos vencimientos
+    @Transactional(readOnly = true)
+    public DashboardResponse getUserDashboard(String username, int upcoming) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        Map<Long, DashboardProjectResponse> projects = new LinkedHashMap<>();
+        for (TaskRepository.AssignedCount count : taskRepository.countAssignedByProject(user.getId(), LocalDateTime.now())) {
+            DashboardProjectResponse project = projects.computeIfAbsent(count.getProjectId(), id -> {
+                DashboardProjectResponse summary = new DashboardProjectResponse();
+                summary.setProjectId(id);
+                summary.setProjectName(count.getProjectName());
+                summary.setByStatus(new EnumMap<>(TaskStatus.class));
+                summary.setByPriority(new EnumMap<>(TaskPriority.class));
+                return summary;
+            });
+            project.setTotal(project.getTotal() + count.getTotal());
+            project.setOverdue(project.getOverdue() + count.getOverdue());
+            project.getByStatus().merge(count.getStatus(), count.getTotal(), Long::sum);
+            project.getByPriority().merge(count.getPriority(), count.getTotal(), Long::sum);
+        }
+
+        List<Long> ids = taskRepository.findNextDueIds(user.getId(), Math.max(0, Math.min(upcoming, MAX_DASHBOARD_UPCOMING)));
+        Map<Long, Task> tasks = loadCards(ids);
+
+        DashboardResponse response = new DashboardResponse();
+        response.setProjects(new ArrayList<>(projects.values()));
+        response.setTotal(projects.values().stream().mapToLong(DashboardProjectResponse::getTotal).sum());
+        response.setOverdue(projects.values().stream().mapToLong(DashboardProjectResponse::getOverdue).sum());
+        response.setUpcomingTasks(mapCards(ids, tasks));
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getArchivedProjectTasks(Long projectId, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        // El proyecto puede estar archivado también; se carga antes para que las tareas lo resuelvan
+        Project project = projectRepository.findByIdIncludingArchived(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+
+        if (!permissionService.canViewProject(user, project)) {
+            throw new IllegalArgumentException("No tienes permisos para ver las tareas de este proyecto");
+        }
+
+        List<Task> tasks = taskRepository.findArchivedByProjectId(projectId);
         return tasks.stream()
                 .map(this::mapToTaskResponse)
                 .collect(Collectors.toList());
@@ -125,11 +370,22 @@ public class TaskService {
         if (!permissionService.canEditTask(user, task)) {
             throw new IllegalArgumentException("No tienes permisos para editar esta tarea");
         }
+        checkVersion(task, request.getVersion());
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            throw new IllegalArgumentException("El título es obligatorio");
+        }
 
+        TaskStatus oldStatus = task.getStatus();
+        Set<Long> oldLabelIds = labelIdsOf(task);
+        Map<String, Object> before = taskSnapshot(task, oldLabelIds);
+
+        // Los campos omitidos conservan su valor; para vaciar uno (descripción, responsable) se usa PATCH con null
         task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
+        if (request.getDescription() != null) {
+            task.setDescription(request.getDescription());
+        }
         if (request.getStatus() != null) {
-            task.setStatus(request.getStatus());
+            moveToColumn(task, request.getStatus());
         }
         if (request.getPriority() != null) {
             task.setPriority(request.getPriority());
@@ -143,17 +399,140 @@ public class TaskService {
             User assignedTo = userRepository.findById(request.getAssignedToId())
                     .orElseThrow(() -> new IllegalArgumentException("Usuario asignado no encontrado"));
             task.setAssignedTo(assignedTo);
-        } else {
-            task.setAssignedTo(null);
         }
 
-        // Actualizar labels
+        // Actualizar labels: solo se insertan o eliminan las filas de task_labels que cambian
+        Set<Long> newLabelIds = oldLabelIds;
+        boolean labelsChanged = false;
         if (request.getLabelIds() != null) {
-            List<Label> labels = labelRepository.findAllById(request.getLabelIds());
-            task.setLabels(labels);
+            newLabelIds = resolveLabels(task.getProject(), request.getLabelIds());
+            labelsChanged = applyLabelDiff(task.getId(), oldLabelIds, newLabelIds);
         }
 
-        task = taskRepository.save(task);
+        // flush para que la versión devuelta (y publicada) ya incluya este cambio
+        task = saveAndFlush(task, labelsChanged);
+        labelUsageService.recordTaskChange(task.getProject().getId(), oldLabelIds, oldStatus, newLabelIds, task.getStatus());
+        projectFlowService.recordStatusChange(task.getProject().getId(), oldStatus, task.getStatus());
+        projectSummaryService.taskChanged(task.getProject().getId(), oldStatus, task.getStatus());
+        scheduleReminders(task);
+        Map<String, Object> after = taskSnapshot(task, newLabelIds);
+        outboxService.record(OutboxService.TASK, task.getId(), "TaskUpdated", after);
+        auditService.record(AuditService.TASK, task.getId(), task.getProject().getId(), AuditService.UPDATE, username, before, after);
+        return mapToTaskResponse(task, newLabelIds);
+    }
+
+    // JSON Merge Patch: solo se modifican los campos presentes y el UPDATE incluye solo esas columnas
+    @Transactional
+    public TaskResponse patchTask(Long taskId, JsonNode patch, Long expectedVersion, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Tarea no encontrada"));
+
+        if (!permissionService.canEditTask(user, task)) {
+            throw new IllegalArgumentException("No tienes permisos para editar esta tarea");
+        }
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("El cuerpo debe ser un objeto JSON");
+        }
+        checkVersion(task, expectedVersion != null ? expectedVersion : MergePatch.id(patch, "version"));
+
+        TaskStatus oldStatus = task.getStatus();
+        Set<Long> oldLabelIds = labelIdsOf(task);
+        Map<String, Object> before = taskSnapshot(task, oldLabelIds);
+
+        if (patch.has("title")) {
+            task.setTitle(MergePatch.requiredText(patch, "title"));
+        }
+        if (patch.has("description")) {
+            task.setDescription(MergePatch.text(patch, "description"));
+        }
+        if (patch.has("status")) {
+            moveToColumn(task, MergePatch.requiredEnum(patch, "status", TaskStatus.class));
+        }
+        if (patch.has("priority")) {
+            task.setPriority(MergePatch.requiredEnum(patch, "priority", TaskPriority.class));
+        }
+        if (patch.has("dueDate")) {
+            task.setDueDate(MergePatch.dateTime(patch, "dueDate"));
+        }
+        if (patch.has("assignedToId")) {
+            Long assignedToId = MergePatch.id(patch, "assignedToId");
+            task.setAssignedTo(assignedToId == null ? null : userRepository.findById(assignedToId)
+                    .orElseThrow(() -> new IllegalArgumentException("Usuario asignado no encontrado")));
+        }
+
+        Set<Long> newLabelIds = oldLabelIds;
+        boolean labelsChanged = false;
+        if (patch.has("labelIds")) {
+            newLabelIds = resolveLabels(task.getProject(), MergePatch.ids(patch, "labelIds"));
+            labelsChanged = applyLabelDiff(task.getId(), oldLabelIds, newLabelIds);
+        }
+
+        task = saveAndFlush(task, labelsChanged);
+        labelUsageService.recordTaskChange(task.getProject().getId(), oldLabelIds, oldStatus, newLabelIds, task.getStatus());
+        projectFlowService.recordStatusChange(task.getProject().getId(), oldStatus, task.getStatus());
+        projectSummaryService.taskChanged(task.getProject().getId(), oldStatus, task.getStatus());
+        scheduleReminders(task);
+        Map<String, Object> after = taskSnapshot(task, newLabelIds);
+        outboxService.record(OutboxService.TASK, task.getId(), "TaskUpdated", after);
+        auditService.record(AuditService.TASK, task.getId(), task.getProject().getId(), AuditService.UPDATE, username, before, after);
+        return mapToTaskResponse(task, newLabelIds);
+    }
+
+    @Transactional
+    public TaskResponse moveTask(Long taskId, MoveTaskRequest request, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Tarea no encontrada"));
+
+        if (!permissionService.canEditTask(user, task)) {
+            throw new IllegalArgumentException("No tienes permisos para editar esta tarea");
+        }
+
+        Long projectId = task.getProject().getId();
+        TaskStatus oldStatus = task.getStatus();
+        TaskStatus status = request.getStatus() != null ? request.getStatus() : oldStatus;
+        Set<Long> labelIds = labelIdsOf(task);
+        Map<String, Object> before = taskSnapshot(task, labelIds);
+
+        // Solo se leen las posiciones de los vecinos; la única fila escrita es la tarea movida
+        String rank;
+        if (request.getPreviousTaskId() == null && request.getNextTaskId() == null) {
+            rank = appendRank(projectId, status);
+        } else {
+            taskRepository.lockBoard(projectId);
+            String previous = neighbourRank(request.getPreviousTaskId(), taskId, projectId, status);
+            String next = neighbourRank(request.getNextTaskId(), taskId, projectId, status);
+            if (previous != null && next != null && previous.compareTo(next) >= 0) {
+                throw new IllegalArgumentException("Las tareas vecinas no son consecutivas");
+            }
+            // Al principio o al final de la columna la clave no se acerca a un vecino: longitud fija
+            if (next == null) {
+                rank = RankKeys.after(previous);
+            } else if (previous == null) {
+                rank = RankKeys.before(next);
+            } else {
+                rank = RankKeys.between(previous, next);
+            }
+        }
+
+        changeStatus(task, status);
+        task.setRank(rank);
+        task = taskRepository.saveAndFlush(task);
+
+        if (oldStatus != status) {
+            labelUsageService.recordTaskChange(projectId, labelIds, oldStatus, labelIds, status);
+            projectFlowService.recordStatusChange(projectId, oldStatus, status);
+            scheduleReminders(task);
+        }
+        projectSummaryService.taskChanged(projectId, oldStatus, status);
+        Map<String, Object> after = taskSnapshot(task, labelIds);
+        outboxService.record(OutboxService.TASK, task.getId(), "TaskMoved", after);
+        auditService.record(AuditService.TASK, task.getId(), projectId, AuditService.UPDATE, username, before, after);
         return mapToTaskResponse(task);
     }
 
@@ -169,12 +548,310 @@ public class TaskService {
             throw new IllegalArgumentException("No tienes permisos para eliminar esta tarea");
         }
 
+        Long projectId = task.getProject().getId();
+        Set<Long> labelIds = labelIdsOf(task);
+        labelUsageService.recordTaskChange(projectId, labelIds, task.getStatus(), null, null);
+        projectFlowService.recordStatusChange(projectId, task.getStatus(), null);
+        projectSummaryService.taskChanged(projectId, task.getStatus(), null);
+        Map<String, Object> before = taskSnapshot(task, labelIds);
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", task.getId());
+        event.put("projectId", projectId);
         taskRepository.delete(task);
+        dueDateReminderScheduler.taskDeleted(taskId);
+        outboxService.record(OutboxService.TASK, taskId, "TaskDeleted", event);
+        auditService.record(AuditService.TASK, taskId, projectId, AuditService.DELETE, username, before, null);
+    }
+
+    @Transactional
+    public int bulkUpdateLabel(BulkLabelRequest request, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        Project project = projectRepository.findById(request.getProjectId())
+                .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+
+        if (!permissionService.canEditProject(user, project)) {
+            throw new IllegalArgumentException("No tienes permisos para editar las tareas de este proyecto");
+        }
+        if (request.getLabelId() == null || request.getAction() == null) {
+            throw new IllegalArgumentException("Label y acción son obligatorios");
+        }
+        if (request.getTaskIds() == null || request.getTaskIds().isEmpty()) {
+            return 0;
+        }
+        resolveLabels(project, List.of(request.getLabelId()));
+
+        // Una sola sentencia actualiza task_labels y los contadores de label_usage;
+        // las tareas de otros proyectos se ignoran
+        int affected = request.getAction() == BulkLabelRequest.Action.ADD
+                ? taskRepository.bulkAddLabel(project.getId(), request.getLabelId(), request.getTaskIds())
+                : taskRepository.bulkRemoveLabel(project.getId(), request.getLabelId(), request.getTaskIds());
+
+        if (affected > 0) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("projectId", project.getId());
+            event.put("labelId", request.getLabelId());
+            event.put("action", request.getAction());
+            event.put("taskIds", request.getTaskIds());
+            outboxService.record(OutboxService.PROJECT, project.getId(), "TaskLabelsBulkUpdated", event);
+            auditService.record(AuditService.PROJECT, project.getId(), project.getId(), "BULK_LABEL", username, null, event);
+            projectSummaryService.taskChanged(project.getId(), null, null);
+        }
+        return affected;
+    }
+
+    private ProjectSummary loadViewableSummary(Long projectId, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+
+        ProjectSummary summary = projectSummaryService.findActive(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Proyecto no encontrado"));
+
+        if (!permissionService.canViewProject(user, summary)) {
+            throw new IllegalArgumentException("No tienes permisos para ver las tareas de este proyecto");
+        }
+        return summary;
+    }
+
+    // Contadores de tareas no archivadas que project_summaries mantiene con cada cambio
+    private long columnTotal(ProjectSummary summary, TaskStatus status) {
+        return switch (status) {
+            case TODO -> summary.getTodoCount();
+            case IN_PROGRESS -> summary.getInProgressCount();
+            case REVIEW -> summary.getReviewCount();
+            case DONE -> summary.getDoneCount();
+        };
+    }
+
+    private int boardPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_BOARD_PAGE_SIZE));
+    }
+
+    // Carga las tarjetas con asignado, creador y labels en una sola consulta
+    private Map<Long, Task> loadCards(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return taskRepository.findWithDetailsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+    }
+
+    // Respeta el orden de ids; se omiten las tareas borradas o archivadas entre la consulta de ids y loadCards
+    private List<TaskResponse> mapCards(List<Long> ids, Map<Long, Task> tasks) {
+        return ids.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToTaskResponse)
+                .collect(Collectors.toList());
+    }
+
+    private void changeStatus(Task task, TaskStatus status) {
+        if (task.getStatus() == status) {
+            return;
+        }
+        TaskStatus from = task.getStatus();
+        LocalDateTime now = LocalDateTime.now();
+        task.setStatus(status);
+        task.setCompletedAt(status == TaskStatus.DONE ? now : null);
+        recordTransition(task, from, now);
+    }
+
+    // Historial de estados para las métricas de flujo; solo inserciones
+    private void recordTransition(Task task, TaskStatus from, LocalDateTime changedAt) {
+        transitionRepository.save(TaskStatusTransition.builder()
+                .taskId(task.getId())
+                .projectId(task.getProject().getId())
+                .fromStatus(from)
+                .toStatus(task.getStatus())
+                .changedAt(changedAt)
+                .build());
+    }
+
+    // Cambia de estado y, si la columna cambia, deja la tarea al final de la nueva
+    private void moveToColumn(Task task, TaskStatus status) {
+        if (task.getStatus() == status) {
+            return;
+        }
+        changeStatus(task, status);
+        task.setRank(appendRank(task.getProject().getId(), status));
+    }
+
+    // Posición al final de la columna. El lock del tablero del proyecto se mantiene hasta el commit: dos altas
+    // concurrentes no leen el mismo máximo y el rebalanceo no reescribe la columna mientras tanto
+    private String appendRank(Long projectId, TaskStatus status) {
+        taskRepository.lockBoard(projectId);
+        return RankKeys.after(taskRepository.findMaxRank(projectId, status));
+    }
+
+    private void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
+    }
+
+    // Payload del outbox y estado comparado por la auditoría: identificadores y campos de la tarea,
+    // sin nombres ni entidades relacionadas
+    private Map<String, Object> taskSnapshot(Task task, Collection<Long> labelIds) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", task.getId());
+        event.put("projectId", task.getProject().getId());
+        event.put("version", task.getVersion());
+        event.put("title", task.getTitle());
+        event.put("description", task.getDescription());
+        event.put("status", task.getStatus());
+        event.put("rank", task.getRank());
+        event.put("priority", task.getPriority());
+        event.put("assignedToId", task.getAssignedTo() != null ? task.getAssignedTo().getId() : null);
+        event.put("dueDate", task.getDueDate());
+        event.put("labelIds", labelIds);
+        return event;
+    }
+
+    private void scheduleReminders(Task task) {
+        dueDateReminderScheduler.taskChanged(task.getId(), task.getDueDate(), task.getStatus() != TaskStatus.DONE);
+    }
+
+    private String neighbourRank(Long neighbourId, Long taskId, Long projectId, TaskStatus status) {
+        if (neighbourId == null) {
+            return null;
+        }
+        if (neighbourId.equals(taskId)) {
+            throw new IllegalArgumentException("Una tarea no puede ser su propia vecina");
+        }
+        return taskRepository.findRank(neighbourId, projectId, status)
+                .orElseThrow(() -> new IllegalArgumentException("La tarea vecina no está en la columna destino"));
+    }
+
+    // Devuelve si task_labels cambió. Las filas se escriben con SQL nativo, así que la colección
+    // labels de la entidad queda como se cargó: el resto de la escritura usa los ids resueltos
+    private boolean applyLabelDiff(Long taskId, Set<Long> oldLabelIds, Set<Long> newLabelIds) {
+        Set<Long> removed = new HashSet<>(oldLabelIds);
+        removed.removeAll(newLabelIds);
+        Set<Long> added = new HashSet<>(newLabelIds);
+        added.removeAll(oldLabelIds);
+        if (!removed.isEmpty()) {
+            taskRepository.removeLabels(taskId, removed);
+        }
+        if (!added.isEmpty()) {
+            taskRepository.addLabels(taskId, added);
+        }
+        return !removed.isEmpty() || !added.isEmpty();
+    }
+
+    // Si solo cambiaron las labels, Hibernate no ve la entidad modificada y no escribe tasks: se fuerza
+    // el incremento de @Version (UPDATE ... WHERE version = ?) para que la ETag cambie y una escritura
+    // concurrente con la versión anterior reciba 409
+    private Task saveAndFlush(Task task, boolean labelsChanged) {
+        Long loadedVersion = task.getVersion();
+        task = taskRepository.saveAndFlush(task);
+        if (labelsChanged && Objects.equals(loadedVersion, task.getVersion())) {
+            entityManager.lock(task, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        }
+        return task;
+    }
+
+    // Las tablas laterales solo incluyen lo que referencian las tareas; las etiquetas salen del catálogo en caché
+    // de cada proyecto y un id que ya no está en él se omite, igual que en mapToTaskResponse(task, labelIds)
+    private NormalizedTaskListResponse normalize(List<TaskRepository.TaskRow> rows, List<TaskRepository.TaskLabelLink> links) {
+        Map<Long, List<Long>> labelIdsByTask = new HashMap<>();
+        for (TaskRepository.TaskLabelLink link : links) {
+            labelIdsByTask.computeIfAbsent(link.getTaskId(), id -> new ArrayList<>()).add(link.getLabelId());
+        }
+        // Un catálogo por proyecto que contenga todas sus etiquetas enlazadas, como resolveLabels: una etiqueta
+        // recién creada en otra instancia no debe faltar aquí mientras la vista por defecto sí la muestra
+        Map<Long, Set<Long>> labelIdsByProject = new HashMap<>();
+        for (TaskRepository.TaskRow row : rows) {
+            labelIdsByProject.computeIfAbsent(row.getProjectId(), id -> new HashSet<>())
+                    .addAll(labelIdsByTask.getOrDefault(row.getId(), List.of()));
+        }
+        Map<Long, Map<Long, LabelResponse>> catalogs = new HashMap<>();
+        labelIdsByProject.forEach((projectId, labelIds) ->
+                catalogs.put(projectId, labelCatalog.getProjectLabels(projectId, labelIds)));
+
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> projectIds = new LinkedHashSet<>();
+        Map<Long, LabelResponse> labels = new LinkedHashMap<>();
+        List<NormalizedTaskResponse> tasks = new ArrayList<>(rows.size());
+        for (TaskRepository.TaskRow row : rows) {
+            NormalizedTaskResponse task = new NormalizedTaskResponse();
+            task.setId(row.getId());
+            task.setVersion(row.getVersion());
+            task.setTitle(row.getTitle());
+            task.setDescription(row.getDescription());
+            task.setStatus(TaskStatus.valueOf(row.getStatus()));
+            task.setPriority(TaskPriority.valueOf(row.getPriority()));
+            task.setProjectId(row.getProjectId());
+            task.setAssignedToId(row.getAssignedToId());
+            task.setCreatedById(row.getCreatedById());
+            task.setCreatedAt(row.getCreatedAt());
+            task.setDueDate(row.getDueDate());
+            task.setRank(row.getRank());
+
+            Map<Long, LabelResponse> catalog = catalogs.get(row.getProjectId());
+            List<Long> labelIds = new ArrayList<>();
+            for (Long labelId : labelIdsByTask.getOrDefault(row.getId(), List.of())) {
+                LabelResponse label = catalog.get(labelId);
+                if (label != null) {
+                    labelIds.add(labelId);
+                    labels.putIfAbsent(labelId, label);
+                }
+            }
+            task.setLabelIds(labelIds);
+            tasks.add(task);
+
+            projectIds.add(row.getProjectId());
+            userIds.add(row.getCreatedById());
+            if (row.getAssignedToId() != null) {
+                userIds.add(row.getAssignedToId());
+            }
+        }
+
+        Map<Long, String> users = new LinkedHashMap<>();
+        Map<Long, String> projects = new LinkedHashMap<>();
+        if (!rows.isEmpty()) {
+            userRepository.findUsernamesByIdIn(userIds).forEach(user -> users.put(user.getId(), user.getUsername()));
+            projectRepository.findNamesByIdIn(projectIds).forEach(project -> projects.put(project.getId(), project.getName()));
+        }
+
+        // El resultado puede compartirse entre peticiones (single-flight), así que no se deja modificable
+        NormalizedTaskListResponse response = new NormalizedTaskListResponse();
+        response.setTasks(Collections.unmodifiableList(tasks));
+        response.setUsers(Collections.unmodifiableMap(users));
+        response.setProjects(Collections.unmodifiableMap(projects));
+        response.setLabels(Collections.unmodifiableMap(labels));
+        return response;
     }
 
     private TaskResponse mapToTaskResponse(Task task) {
+        TaskResponse response = mapTaskFields(task);
+
+        // Mapear labels desde el catálogo en caché del proyecto para no inicializar cada label
+        Map<Long, LabelResponse> catalog = labelCatalog.getProjectLabels(task.getProject().getId());
+        List<LabelResponse> labels = (task.getLabels() != null ? task.getLabels() : new HashSet<Label>())
+                .stream()
+                .map(label -> catalog.containsKey(label.getId()) ? catalog.get(label.getId()) : mapToLabelResponse(label))
+                .collect(Collectors.toList());
+        response.setLabels(labels);
+
+        return response;
+    }
+
+    // Variante para escrituras: las labels salen de los ids ya validados contra el catálogo
+    private TaskResponse mapToTaskResponse(Task task, Collection<Long> labelIds) {
+        TaskResponse response = mapTaskFields(task);
+        Map<Long, LabelResponse> catalog = labelCatalog.getProjectLabels(task.getProject().getId());
+        response.setLabels(labelIds.stream()
+                .map(catalog::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    private TaskResponse mapTaskFields(Task task) {
         TaskResponse response = new TaskResponse();
         response.setId(task.getId());
+        response.setVersion(task.getVersion());
         response.setTitle(task.getTitle());
         response.setDescription(task.getDescription());
         response.setStatus(task.getStatus());
@@ -184,21 +861,38 @@ public class TaskService {
         response.setCreatedBy(task.getCreatedBy().getUsername());
         response.setCreatedAt(task.getCreatedAt());
         response.setDueDate(task.getDueDate());
-        
-        // Mapear labels
-        List<LabelResponse> labels = (task.getLabels() != null ? task.getLabels() : new java.util.ArrayList<>())
-                .stream()
-                .map(label -> {
-                    com.davivienda.projectapp.model.Label l = (com.davivienda.projectapp.model.Label) label;
-                    LabelResponse labelResponse = new LabelResponse();
-                    labelResponse.setId(l.getId());
-                    labelResponse.setName(l.getName());
-                    labelResponse.setColor(l.getColor());
-                    return labelResponse;
-                })
-                .collect(Collectors.toList());
-        response.setLabels(labels);
-        
+        response.setRank(task.getRank());
         return response;
     }
+
+    private Set<Long> labelIdsOf(Task task) {
+        if (task.getLabels() == null) {
+            return new LinkedHashSet<>();
+        }
+        return task.getLabels().stream()
+                .map(Label::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // Valida los ids contra el catálogo en caché; solo consulta la tabla labels si falta alguno
+    private Set<Long> resolveLabels(Project project, List<Long> labelIds) {
+        Map<Long, LabelResponse> catalog = labelCatalog.getProjectLabels(project.getId(), labelIds);
+        Set<Long> resolved = new LinkedHashSet<>();
+        for (Long labelId : labelIds) {
+            if (!catalog.containsKey(labelId)) {
+                throw new IllegalArgumentException("Label no encontrado: " + labelId);
+            }
+            resolved.add(labelId);
+        }
+        return resolved;
+    }
+
+    private LabelResponse mapToLabelResponse(Label label) {
+        LabelResponse labelResponse = new LabelResponse();
+        labelResponse.setId(label.getId());
+        labelResponse.setName(label.getName());
+        labelResponse.setColor(label.getColor());
+        labelResponse.setProjectId(label.getProject() != null ? label.getProject().getId() : null);
+        return labelResponse;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.davivienda.projectapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Cursor opaco de una columna del tablero: guarda la posición (board_rank, id) de la última tarjeta devuelta,
+// así que la página siguiente continúa desde ahí aunque esa tarjeta se mueva, se archive o se borre
+public final class BoardCursors {
+
+    public record Position(String boardRank, Long id) {
+    }
+
+    private BoardCursors() {
+    }
+
+    // board_rank null: tarea aún sin posición, que el rebalanceo colocará al final de la columna
+    public static String of(String boardRank, Long id) {
+        String raw = (boardRank != null ? boardRank : "") + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Position parse(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            String boardRank = raw.substring(0, separator);
+            return new Position(boardRank.isEmpty() ? null : boardRank, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor de columna inválido: " + cursor);
+        }
+    }
+}
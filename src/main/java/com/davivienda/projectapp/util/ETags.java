@@ -0,0 +1,29 @@
+package com.davivienda.projectapp.util;
+
+// Conversión entre la versión optimista de una entidad y las cabeceras ETag / If-Match
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    // Acepta "3", W/"3" o 3; null si la cabecera no se envió o es "*"
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cabecera If-Match inválida: " + ifMatch);
+        }
+    }
+}
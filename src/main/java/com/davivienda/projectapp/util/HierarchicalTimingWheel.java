@@ -0,0 +1,182 @@
+package com.davivienda.projectapp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rueda de tiempo jerárquica: cada nivel tiene {@code wheelSize} ranuras y cada ranura del nivel k
+ * abarca {@code wheelSize^k} ticks. Programar y cancelar son O(1); al avanzar, las ranuras de los
+ * niveles superiores se redistribuyen hacia abajo cuando empieza su periodo.
+ *
+ * No es thread-safe: quien la use debe sincronizar el acceso.
+ */
+public class HierarchicalTimingWheel<T> {
+    private static final int MAX_LEVELS = 8;
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final Bucket<T>[][] levels;
+    // Entradas cuyo vencimiento ya pasó al programarlas; se entregan en el siguiente advance
+    private final Bucket<T> expired = new Bucket<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis debe ser positivo y wheelSize al menos 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMillis / tickMillis;
+        this.levels = new Bucket[MAX_LEVELS][];
+        for (int level = 0; level < MAX_LEVELS; level++) {
+            levels[level] = new Bucket[wheelSize];
+            for (int slot = 0; slot < wheelSize; slot++) {
+                levels[level][slot] = new Bucket<>();
+            }
+        }
+    }
+
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(this, item, Math.floorDiv(deadlineMillis, tickMillis));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    // Avanza el reloj hasta nowMillis y devuelve, en orden de vencimiento, las entradas vencidas
+    public List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        drain(expired, due);
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            drain(expired, due);
+            drain(levels[0][slot(currentTick, 0)], due);
+        }
+        return due;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long currentTimeMillis() {
+        return currentTick * tickMillis;
+    }
+
+    // Al empezar el periodo de una ranura de nivel k, sus entradas bajan a niveles inferiores
+    private void cascade() {
+        long span = 1;
+        int levelCount = 0;
+        while (levelCount + 1 < MAX_LEVELS && currentTick % (span * wheelSize) == 0) {
+            span *= wheelSize;
+            levelCount++;
+        }
+        for (int level = levelCount; level >= 1; level--) {
+            Bucket<T> bucket = levels[level][slot(currentTick, level)];
+            Timeout<T> timeout = bucket.head.next;
+            while (timeout != bucket.head) {
+                Timeout<T> next = timeout.next;
+                bucket.unlink(timeout);
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            expired.append(timeout);
+            return;
+        }
+        int level = 0;
+        long span = wheelSize;
+        while (delta >= span && level + 1 < MAX_LEVELS) {
+            span *= wheelSize;
+            level++;
+        }
+        levels[level][slot(timeout.deadlineTick, level)].append(timeout);
+    }
+
+    private int slot(long tick, int level) {
+        long divisor = 1;
+        for (int i = 0; i < level; i++) {
+            divisor *= wheelSize;
+        }
+        return (int) Math.floorMod(tick / divisor, (long) wheelSize);
+    }
+
+    private void drain(Bucket<T> bucket, List<T> due) {
+        Timeout<T> timeout = bucket.head.next;
+        while (timeout != bucket.head) {
+            Timeout<T> next = timeout.next;
+            bucket.unlink(timeout);
+            size--;
+            due.add(timeout.item);
+            timeout = next;
+        }
+    }
+
+    // Referencia a una entrada programada; cancel() la retira de su ranura en O(1)
+    public static final class Timeout<T> {
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T item;
+        private final long deadlineTick;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T item, long deadlineTick) {
+            this.wheel = wheel;
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public boolean isPending() {
+            return bucket != null;
+        }
+
+        public boolean cancel() {
+            if (bucket == null) {
+                return false;
+            }
+            bucket.unlink(this);
+            wheel.size--;
+            return true;
+        }
+    }
+
+    // Lista doblemente enlazada con centinela
+    private static final class Bucket<T> {
+        private final Timeout<T> head = new Timeout<>(null, null, 0);
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void append(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = head.prev;
+            timeout.next = head;
+            head.prev.next = timeout;
+            head.prev = timeout;
+        }
+
+        private void unlink(Timeout<T> timeout) {
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.davivienda.projectapp.util;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Lectura de campos de un JSON Merge Patch (RFC 7396): un campo ausente no se modifica y un campo
+ * con valor null borra el valor actual. Los errores de formato se reportan como IllegalArgumentException.
+ */
+public final class MergePatch {
+
+    private MergePatch() {
+    }
+
+    public static String text(JsonNode patch, String field) {
+        JsonNode value = patch.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new IllegalArgumentException("El campo " + field + " debe ser texto");
+        }
+        return value.asText();
+    }
+
+    // Campos obligatorios de la entidad: pueden omitirse, pero no enviarse como null
+    public static String requiredText(JsonNode patch, String field) {
+        String value = text(patch, field);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("El campo " + field + " no puede ser vacío");
+        }
+        return value;
+    }
+
+    public static <E extends Enum<E>> E requiredEnum(JsonNode patch, String field, Class<E> type) {
+        String value = requiredText(patch, field);
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Valor inválido para " + field + ": " + value);
+        }
+    }
+
+    public static Long id(JsonNode patch, String field) {
+        JsonNode value = patch.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (!value.canConvertToLong()) {
+            throw new IllegalArgumentException("El campo " + field + " debe ser numérico");
+        }
+        return value.asLong();
+    }
+
+    public static List<Long> ids(JsonNode patch, String field) {
+        JsonNode value = patch.get(field);
+        if (value == null || value.isNull()) {
+            return new ArrayList<>();
+        }
+        if (!value.isArray()) {
+            throw new IllegalArgumentException("El campo " + field + " debe ser una lista");
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode item : value) {
+            if (!item.canConvertToLong()) {
+                throw new IllegalArgumentException("El campo " + field + " debe contener ids numéricos");
+            }
+            ids.add(item.asLong());
+        }
+        return ids;
+    }
+
+    public static LocalDateTime dateTime(JsonNode patch, String field) {
+        String value = text(patch, field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida para " + field + ": " + value);
+        }
+    }
+}
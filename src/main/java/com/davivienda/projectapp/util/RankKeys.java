@@ -0,0 +1,152 @@
+package com.davivienda.projectapp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Claves de orden fraccionario para el tablero. Cada clave se interpreta como la parte
+ * decimal de un número en base 62, de modo que siempre existe una clave entre dos vecinas
+ * y mover una tarjeta solo reescribe la fila movida.
+ *
+ * El alfabeto está en orden ASCII, así que el orden de String.compareTo coincide con el de
+ * una columna con COLLATE "C". Las claves generadas nunca terminan en '0'.
+ */
+public final class RankKeys {
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    // Dígitos de margen de after y before más allá de la racha inicial de 'z' (o de '0'):
+    // cada carácter extra de la clave cuesta del orden de BASE^STEP_DIGITS inserciones
+    private static final int STEP_DIGITS = 4;
+
+    private RankKeys() {
+    }
+
+    // Clave estrictamente entre before y after; null representa el inicio o el final de la columna
+    public static String between(String before, String after) {
+        String lower = before != null ? before : "";
+        if (after != null && lower.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("El rango anterior debe ser menor que el siguiente");
+        }
+
+        StringBuilder key = new StringBuilder();
+        String upper = after;
+        int i = 0;
+        while (true) {
+            int low = i < lower.length() ? digit(lower.charAt(i)) : 0;
+            int high = upper == null ? BASE : (i < upper.length() ? digit(upper.charAt(i)) : 0);
+            if (low == high) {
+                key.append(DIGITS.charAt(low));
+                i++;
+                continue;
+            }
+            int mid = (low + high) / 2;
+            if (mid > low) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+            // Dígitos consecutivos: se conserva el menor y a partir de aquí no hay límite superior
+            key.append(DIGITS.charAt(low));
+            upper = null;
+            i++;
+        }
+    }
+
+    // Clave para añadir al final de la columna, detrás de last. El punto medio hasta el final
+    // (between(last, null)) alarga la clave un carácter cada pocas inserciones; aquí se suma una
+    // unidad en una posición fija, así que las claves mantienen la longitud
+    public static String after(String last) {
+        if (last == null) {
+            return between(null, null);
+        }
+        int leading = 0;
+        while (leading < last.length() && last.charAt(leading) == DIGITS.charAt(BASE - 1)) {
+            leading++;
+        }
+        int[] digits = digits(last, leading + STEP_DIGITS);
+        // La posición leading no es 'z', así que el acarreo se detiene antes de salirse de la clave
+        int i = digits.length - 1;
+        while (digits[i] == BASE - 1) {
+            digits[i--] = 0;
+        }
+        digits[i]++;
+        return encode(digits);
+    }
+
+    // Clave para poner delante de first, al inicio de la columna; simétrica de after
+    public static String before(String first) {
+        if (first == null) {
+            return between(null, null);
+        }
+        int leading = 0;
+        while (leading < first.length() && first.charAt(leading) == DIGITS.charAt(0)) {
+            leading++;
+        }
+        int[] digits = digits(first, leading + STEP_DIGITS);
+        // La posición leading no es '0' y la unidad se resta más a la derecha: el resultado sigue siendo mayor que cero
+        int i = digits.length - 1;
+        while (digits[i] == 0) {
+            digits[i--] = BASE - 1;
+        }
+        digits[i]--;
+        return encode(digits);
+    }
+
+    // count claves de igual longitud repartidas uniformemente, usadas al rebalancear una columna
+    public static List<String> evenlySpaced(int count) {
+        int length = 1;
+        double space = BASE;
+        while (space / (count + 1) < 2) {
+            space *= BASE;
+            length++;
+        }
+        long step = (long) (space / (count + 1));
+
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            long value = step * i;
+            if (value % BASE == 0) {
+                value++;
+            }
+            keys.add(encode(value, length));
+        }
+        return keys;
+    }
+
+    private static String encode(long value, int length) {
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(chars);
+    }
+
+    // Los dígitos de key, truncados o completados con ceros hasta length
+    private static int[] digits(String key, int length) {
+        int[] digits = new int[length];
+        for (int i = 0; i < length && i < key.length(); i++) {
+            digits[i] = digit(key.charAt(i));
+        }
+        return digits;
+    }
+
+    // Sin los ceros finales, que no cambian el valor
+    private static String encode(int[] digits) {
+        int length = digits.length;
+        while (length > 0 && digits[length - 1] == 0) {
+            length--;
+        }
+        StringBuilder key = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            key.append(DIGITS.charAt(digits[i]));
+        }
+        return key.toString();
+    }
+
+    private static int digit(char c) {
+        int index = DIGITS.indexOf(c);
+        if (index < 0) {
+            throw new IllegalArgumentException("Carácter de rango inválido: " + c);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,58 @@
+package com.davivienda.projectapp.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa cálculos idénticos concurrentes: mientras hay uno en curso para una clave, las demás
+ * llamadas con esa clave esperan y reciben el mismo resultado (o la misma excepción) en lugar de
+ * repetirlo. No es una caché: al terminar el cálculo la clave se libera y la siguiente llamada
+ * vuelve a calcular.
+ *
+ * El resultado se comparte entre hilos, así que quien lo reciba no debe modificarlo. La clave debe
+ * incluir una versión de los datos para que una llamada posterior a una escritura no se una a un
+ * cálculo empezado antes de ella.
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            V value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    // Cálculos en curso; para métricas y tests
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Se relanza la excepción original del cálculo, la misma que recibe quien lo ejecutó
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.davivienda.projectapp;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Pruebas contra el ejecutable nativo (mvn -Pnative verify): JPA, JWT y la cadena de seguridad por HTTP
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class NativeApplicationIT {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private static Process application;
+    private static String baseUrl;
+    private static String token;
+    private static long projectId;
+    private static long taskId;
+
+    @BeforeAll
+    static void startNativeBinary() throws Exception {
+        File binary = new File(System.getProperty("native.binary", "target/projectapp"));
+        assertTrue(binary.canExecute(), "No existe el ejecutable nativo " + binary + "; ejecuta mvn -Pnative package");
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        baseUrl = "http://localhost:" + port;
+
+        application = new ProcessBuilder(binary.getAbsolutePath(),
+                "--server.port=" + port,
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword())
+                .redirectErrorStream(true)
+                .redirectOutput(new File(binary.getParentFile(), "native-it.log"))
+                .start();
+
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (System.currentTimeMillis() < deadline) {
+            assertTrue(application.isAlive(), "El ejecutable nativo terminó al arrancar, revisa target/native-it.log");
+            try {
+                if (get("/actuator/health", null).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Todavía no escucha
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("El ejecutable nativo no respondió en 60 s");
+    }
+
+    @AfterAll
+    static void stopNativeBinary() {
+        if (application != null) {
+            application.destroy();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testProtectedEndpointRequiresToken() throws Exception {
+        int status = get("/api/projects", null).statusCode();
+        assertTrue(status == 401 || status == 403, "status " + status);
+    }
+
+    @Test
+    @Order(2)
+    void testRegisterAndLoginIssueJwt() throws Exception {
+        HttpResponse<String> register = post("/api/auth/register",
+                Map.of("username", "native", "email", "native@example.com", "password", "secret123"), null);
+        assertEquals(200, register.statusCode(), register.body());
+
+        HttpResponse<String> login = post("/api/auth/login",
+                Map.of("usernameOrEmail", "native", "password", "secret123"), null);
+        assertEquals(200, login.statusCode(), login.body());
+        token = objectMapper.readTree(login.body()).path("token").asText();
+        assertTrue(token.split("\\.").length == 3, "JWT inválido: " + token);
+    }
+
+    @Test
+    @Order(3)
+    void testInvalidTokenIsRejected() throws Exception {
+        int status = get("/api/projects", token + "x").statusCode();
+        assertTrue(status == 401 || status == 403, "status " + status);
+    }
+
+    @Test
+    @Order(4)
+    void testCreateProjectAndListFromSummaries() throws Exception {
+        HttpResponse<String> created = post("/api/projects",
+                Map.of("name", "Proyecto nativo", "description", "Creado desde la imagen nativa"), token);
+        assertEquals(201, created.statusCode(), created.body());
+        projectId = objectMapper.readTree(created.body()).path("id").asLong();
+
+        HttpResponse<String> list = get("/api/projects", token);
+        assertEquals(200, list.statusCode(), list.body());
+        JsonNode projects = objectMapper.readTree(list.body());
+        assertEquals(1, projects.size());
+        assertEquals("Proyecto nativo", projects.get(0).path("name").asText());
+    }
+
+    @Test
+    @Order(5)
+    void testCreateAndMoveTask() throws Exception {
+        HttpResponse<String> created = post("/api/tasks",
+                Map.of("title", "Tarea nativa", "projectId", projectId, "priority", "HIGH"), token);
+        assertEquals(201, created.statusCode(), created.body());
+        taskId = objectMapper.readTree(created.body()).path("id").asLong();
+
+        HttpResponse<String> moved = send("PUT", "/api/tasks/" + taskId + "/move", Map.of("status", "DONE"), token);
+        assertEquals(200, moved.statusCode(), moved.body());
+        assertEquals("DONE", objectMapper.readTree(moved.body()).path("status").asText());
+    }
+
+    @Test
+    @Order(6)
+    void testAnalyticsNativeQueries() throws Exception {
+        HttpResponse<String> flow = get("/api/projects/" + projectId + "/analytics/cumulative-flow", token);
+        assertEquals(200, flow.statusCode(), flow.body());
+        JsonNode points = objectMapper.readTree(flow.body()).path("points");
+        assertTrue(points.size() > 0);
+        assertEquals(1, points.get(points.size() - 1).path("byStatus").path("DONE").asInt());
+    }
+
+    private static HttpResponse<String> get(String path, String bearer) throws IOException, InterruptedException {
+        return send("GET", path, null, bearer);
+    }
+
+    private static HttpResponse<String> post(String path, Object body, String bearer) throws IOException, InterruptedException {
+        return send("POST", path, body, bearer);
+    }
+
+    private static HttpResponse<String> send(String method, String path, Object body, String bearer)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,50 @@
+package com.davivienda.projectapp.config;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class DataSourcePoolValidatorTest {
+    @Mock private DataSource dataSource;
+    private DataSourcePoolValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        validator = new DataSourcePoolValidator(dataSource);
+        ReflectionTestUtils.setField(validator, "serverThreads", 30);
+        ReflectionTestUtils.setField(validator, "schedulingThreads", 1);
+        ReflectionTestUtils.setField(validator, "openInView", true);
+    }
+
+    @Test
+    void testDefaultPoolIsUndersizedForDefaultTomcat() {
+        ReflectionTestUtils.setField(validator, "serverThreads", 200);
+        assertNotNull(validator.undersizedWarning(10, 30000));
+    }
+
+    @Test
+    void testPoolCoveringServerAndSchedulerThreadsPasses() {
+        assertNull(validator.undersizedWarning(31, 3000));
+        assertNotNull(validator.undersizedWarning(30, 3000));
+    }
+
+    @Test
+    void testSchedulerThreadsCountTowardsPoolSize() {
+        ReflectionTestUtils.setField(validator, "schedulingThreads", 4);
+        assertNotNull(validator.undersizedWarning(32, 3000));
+        assertNull(validator.undersizedWarning(36, 3000));
+    }
+
+    @Test
+    void testNoMinimumWithoutOpenInView() {
+        ReflectionTestUtils.setField(validator, "openInView", false);
+        assertNull(validator.undersizedWarning(5, 3000));
+    }
+}
@@ -0,0 +1,89 @@
+package com.davivienda.projectapp.config;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.davivienda.projectapp.dto.LabelResponse;
+import com.davivienda.projectapp.dto.TaskResponse;
+import com.davivienda.projectapp.model.TaskPriority;
+import com.davivienda.projectapp.model.TaskStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+public class JacksonConfigTest {
+
+    // Como Spring Boot, fechas en texto ISO en lugar de arrays
+    private static ObjectMapper tuned(Jackson2ObjectMapperBuilder builder) {
+        builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JacksonConfig.tune(builder);
+        return builder.build();
+    }
+
+    @Test
+    void testDatesMatchIsoLocalDateTime() throws Exception {
+        ObjectMapper mapper = tuned(Jackson2ObjectMapperBuilder.json());
+        List<LocalDateTime> values = List.of(
+                LocalDateTime.of(2024, 3, 5, 7, 0),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59),
+                LocalDateTime.of(1, 1, 1, 0, 0, 1, 5),
+                LocalDateTime.of(2025, 6, 15, 12, 30, 45, 120_000_000),
+                LocalDateTime.of(2025, 6, 15, 12, 30, 45, 123_456_000),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(10000, 1, 1, 0, 0),
+                LocalDateTime.of(-1, 1, 1, 0, 0));
+        for (LocalDateTime value : values) {
+            assertEquals("\"" + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) + "\"",
+                    mapper.writeValueAsString(value));
+        }
+    }
+
+    @Test
+    void testBlackbirdIsRegistered() {
+        ObjectMapper mapper = tuned(Jackson2ObjectMapperBuilder.json());
+        assertTrue(mapper.getRegisteredModuleIds().contains("com.fasterxml.jackson.module.blackbird.BlackbirdModule"));
+    }
+
+    @Test
+    void testCborAndSmileRoundTripTaskLists() throws Exception {
+        List<TaskResponse> tasks = List.of(task(1L), task(2L));
+        for (ObjectMapper mapper : List.of(
+                tuned(Jackson2ObjectMapperBuilder.json().factory(new CBORFactory())),
+                tuned(Jackson2ObjectMapperBuilder.json().factory(new SmileFactory())))) {
+            byte[] encoded = mapper.writeValueAsBytes(tasks);
+            assertEquals(tasks, mapper.readValue(encoded, new TypeReference<List<TaskResponse>>() { }));
+        }
+    }
+
+    static TaskResponse task(Long id) {
+        LabelResponse label = new LabelResponse();
+        label.setId(10L);
+        label.setName("backend");
+        label.setColor("#336699");
+        label.setProjectId(1L);
+
+        TaskResponse task = new TaskResponse();
+        task.setId(id);
+        task.setVersion(3L);
+        task.setTitle("Tarea " + id);
+        task.setDescription("Descripción de la tarea " + id);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setPriority(TaskPriority.HIGH);
+        task.setAssignedTo("ana");
+        task.setProjectName("Proyecto");
+        task.setCreatedBy("luis");
+        task.setCreatedAt(LocalDateTime.of(2025, 6, 15, 12, 30, 45, 123_456_000));
+        task.setDueDate(LocalDateTime.of(2025, 7, 1, 18, 0));
+        task.setRank("m");
+        task.setLabels(List.of(label));
+        return task;
+    }
+}
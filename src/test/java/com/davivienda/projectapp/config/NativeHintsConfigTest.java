@@ -0,0 +1,54 @@
+package com.davivienda.projectapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.util.ClassUtils;
+
+import com.davivienda.projectapp.dto.AuthResponse;
+import com.davivienda.projectapp.dto.ProjectResponse;
+import com.davivienda.projectapp.model.ProjectDailyStatus;
+import com.davivienda.projectapp.model.ProjectSummary;
+import com.davivienda.projectapp.model.Task;
+import com.davivienda.projectapp.model.TaskStatus;
+
+public class NativeHintsConfigTest {
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.ProjectappRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testJjwtTypesExistAndAreRegistered() {
+        for (String type : NativeHintsConfig.JJWT_TYPES) {
+            // Si una actualización de jjwt renombra una clase, falla aquí y no en la imagen nativa
+            assertTrue(ClassUtils.isPresent(type, getClass().getClassLoader()), type);
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints), type);
+        }
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+
+    @Test
+    void testModelPackageIsRegistered() {
+        for (Class<?> type : new Class<?>[] { Task.class, ProjectSummary.class, TaskStatus.class,
+                ProjectDailyStatus.ProjectDailyStatusId.class }) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+                    .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints), type.getName());
+        }
+    }
+
+    @Test
+    void testDtosAreRegisteredForBinding() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(AuthResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ProjectResponse.class).test(hints));
+    }
+}
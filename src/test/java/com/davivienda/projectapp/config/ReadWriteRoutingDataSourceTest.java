@@ -0,0 +1,123 @@
+package com.davivienda.projectapp.config;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.davivienda.projectapp.config.ReadWriteRoutingDataSource.Route;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ReadWriteRoutingDataSourceTest {
+    @Mock private DataSource primary;
+    @Mock private HikariDataSource replica;
+    @Mock private ReplicaLagMonitor lagMonitor;
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private ReadYourWritesTracker tracker;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(lagMonitor.getDataSource()).thenReturn(replica);
+        when(lagMonitor.isHealthy()).thenReturn(true);
+        tracker = new ReadYourWritesTracker(5_000, clock::get);
+        routing = new ReadWriteRoutingDataSource(primary, lagMonitor, tracker, new SimpleMeterRegistry());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("testuser", null, List.of()));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransactionGoesToReplica() {
+        beginTransaction(true);
+        assertEquals(Route.REPLICA, routing.route());
+    }
+
+    @Test
+    void testWithoutTransactionGoesToPrimary() {
+        assertEquals(Route.PRIMARY, routing.route());
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        when(lagMonitor.isHealthy()).thenReturn(false);
+        beginTransaction(true);
+        assertEquals(Route.PRIMARY, routing.route());
+    }
+
+    @Test
+    void testReadsAfterOwnWriteStayOnPrimaryDuringWindow() {
+        beginTransaction(false);
+        assertEquals(Route.PRIMARY, routing.route());
+        commit();
+
+        beginTransaction(true);
+        assertEquals(Route.PRIMARY, routing.route());
+
+        // Otro usuario sí lee de la réplica
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("otheruser", null, List.of()));
+        assertEquals(Route.REPLICA, routing.route());
+
+        clock.addAndGet(5_000);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("testuser", null, List.of()));
+        assertEquals(Route.REPLICA, routing.route());
+    }
+
+    @Test
+    void testRolledBackWriteDoesNotOpenWindow() {
+        beginTransaction(false);
+        routing.route();
+        TransactionSynchronizationManager.clearSynchronization();
+        assertFalse(tracker.recentlyWrote("testuser"));
+    }
+
+    @Test
+    void testLagMonitorThreshold() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, 1_000, new SimpleMeterRegistry());
+        assertFalse(monitor.isHealthy());
+        monitor.update(200);
+        assertTrue(monitor.isHealthy());
+        monitor.update(1_500);
+        assertFalse(monitor.isHealthy());
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+}
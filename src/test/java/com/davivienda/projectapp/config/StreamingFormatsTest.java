@@ -0,0 +1,47 @@
+package com.davivienda.projectapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class StreamingFormatsTest {
+    @Mock private MappingJackson2CborHttpMessageConverter cborConverter;
+    @Mock private MappingJackson2SmileHttpMessageConverter smileConverter;
+    private StreamingFormats formats;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        formats = new StreamingFormats(new ObjectMapper(), cborConverter, smileConverter);
+    }
+
+    @Test
+    void testJsonByDefault() {
+        assertEquals(MediaType.APPLICATION_JSON, formats.negotiate(null));
+        assertEquals(MediaType.APPLICATION_JSON, formats.negotiate("*/*"));
+        assertEquals(MediaType.APPLICATION_JSON, formats.negotiate("application/*"));
+    }
+
+    @Test
+    void testBinaryFormatsByAccept() {
+        assertEquals(MediaType.APPLICATION_CBOR, formats.negotiate("application/cbor"));
+        assertEquals(JacksonConfig.APPLICATION_SMILE, formats.negotiate("application/x-jackson-smile, */*;q=0.1"));
+        assertEquals(MediaType.APPLICATION_CBOR, formats.negotiate("application/json;q=0.5, application/cbor"));
+    }
+
+    @Test
+    void testUnsupportedAccept() {
+        assertNull(formats.negotiate("text/csv"));
+        assertNull(formats.negotiate("application/json;q=0"));
+        assertThrows(IllegalArgumentException.class, () -> formats.negotiate("not a type"));
+    }
+}
@@ -17,10 +17,13 @@ import org.springframework.security.core.Authentication;
 
 import com.davivienda.projectapp.dto.LabelRequest;
 import com.davivienda.projectapp.dto.LabelResponse;
+import com.davivienda.projectapp.dto.LabelUsageResponse;
 import com.davivienda.projectapp.service.LabelService;
+import com.davivienda.projectapp.service.LabelUsageService;
 
 public class LabelControllerTest {
     @Mock private LabelService labelService;
+    @Mock private LabelUsageService labelUsageService;
     @InjectMocks private LabelController labelController;
     @Mock private Authentication authentication;
 
@@ -80,4 +83,13 @@ public class LabelControllerTest {
         ResponseEntity<Void> response = labelController.deleteLabel(1L, authentication);
         assertEquals(204, response.getStatusCodeValue());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGetProjectLabelUsage() {
+        List<LabelUsageResponse> list = Collections.singletonList(mock(LabelUsageResponse.class));
+        when(labelUsageService.getProjectLabelUsage(1L, "user")).thenReturn(list);
+        ResponseEntity<List<LabelUsageResponse>> response = labelController.getProjectLabelUsage(1L, authentication);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().size());
+    }
+}
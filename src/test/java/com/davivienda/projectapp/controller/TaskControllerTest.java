@@ -2,6 +2,7 @@ package com.davivienda.projectapp.controller;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,18 +10,29 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.davivienda.projectapp.config.StreamingFormats;
+import com.davivienda.projectapp.dto.BulkLabelRequest;
+import com.davivienda.projectapp.dto.NormalizedTaskListResponse;
 import com.davivienda.projectapp.dto.TaskRequest;
 import com.davivienda.projectapp.dto.TaskResponse;
+import com.davivienda.projectapp.model.Task;
 import com.davivienda.projectapp.service.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 
 public class TaskControllerTest {
     @Mock private TaskService taskService;
+    @Mock private StreamingFormats streamingFormats;
     @InjectMocks private TaskController taskController;
     @Mock private Authentication authentication;
 
@@ -56,6 +68,31 @@ public class TaskControllerTest {
         assertEquals(1, response.getBody().size());
     }
 
+    @Test
+    void testGetProjectTasksNormalized() {
+        NormalizedTaskListResponse normalized = new NormalizedTaskListResponse();
+        normalized.setTasks(List.of());
+        when(taskService.getProjectTasksNormalized(1L, "user")).thenReturn(normalized);
+        ResponseEntity<NormalizedTaskListResponse> response = taskController.getProjectTasksNormalized(1L, authentication);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(normalized, response.getBody());
+    }
+
+    @Test
+    void testStreamProjectTasksNotAcceptable() {
+        when(streamingFormats.negotiate("text/csv")).thenReturn(null);
+        ResponseEntity<StreamingResponseBody> response = taskController.streamProjectTasks(1L, "text/csv", authentication);
+        assertEquals(406, response.getStatusCodeValue());
+    }
+
+    @Test
+    void testStreamProjectTasksNoPermission() {
+        when(streamingFormats.negotiate(null)).thenReturn(MediaType.APPLICATION_JSON);
+        doThrow(new IllegalArgumentException()).when(taskService).checkCanViewProjectTasks(1L, "user");
+        ResponseEntity<StreamingResponseBody> response = taskController.streamProjectTasks(1L, null, authentication);
+        assertEquals(400, response.getStatusCodeValue());
+    }
+
     @Test
     void testGetUserTasks() {
         List<TaskResponse> list = Collections.singletonList(mock(TaskResponse.class));
@@ -74,6 +111,23 @@ public class TaskControllerTest {
         assertEquals(200, response.getStatusCodeValue());
     }
 
+    @Test
+    void testPatchTaskConflict() {
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("title", "Nuevo");
+        when(taskService.patchTask(1L, patch, 2L, "user")).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+        ResponseEntity<TaskResponse> response = taskController.patchTask(1L, patch, "\"2\"", authentication);
+        assertEquals(409, response.getStatusCodeValue());
+    }
+
+    @Test
+    void testBulkUpdateLabel() {
+        BulkLabelRequest req = new BulkLabelRequest();
+        when(taskService.bulkUpdateLabel(req, "user")).thenReturn(3);
+        ResponseEntity<Map<String, Integer>> response = taskController.bulkUpdateLabel(req, authentication);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(3, response.getBody().get("affected"));
+    }
+
     @Test
     void testDeleteTask() {
         doNothing().when(taskService).deleteTask(1L, "user");
@@ -0,0 +1,47 @@
+package com.davivienda.projectapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.TaskRepository;
+
+public class ArchiveServiceTest {
+    @Mock private TaskRepository taskRepository;
+    @Mock private ProjectRepository projectRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private ProjectSummaryService projectSummaryService;
+    @InjectMocks private ArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(archiveService, "taskDoneDays", 90);
+        ReflectionTestUtils.setField(archiveService, "projectInactiveDays", 30);
+        ReflectionTestUtils.setField(archiveService, "batchSize", 100);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void testArchiveRepeatsFullBatches() {
+        when(taskRepository.archiveDoneTasks(any(), anyInt())).thenReturn(100, 100, 40);
+        when(taskRepository.archiveTasksOfInactiveProjects(any(), anyInt())).thenReturn(0);
+        archiveService.archive();
+        verify(taskRepository, times(3)).archiveDoneTasks(any(), anyInt());
+        verify(taskRepository, times(1)).archiveTasksOfInactiveProjects(any(), anyInt());
+        verify(projectRepository).archiveInactiveProjects(any());
+        verify(projectSummaryService).refreshAll();
+    }
+}
@@ -0,0 +1,201 @@
+package com.davivienda.projectapp.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.davivienda.projectapp.dto.AuditPageResponse;
+import com.davivienda.projectapp.model.AuditEntry;
+import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.User;
+import com.davivienda.projectapp.repository.AuditEntryRepository;
+import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AuditServiceTest {
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private AuditEntryRepository auditEntryRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private ProjectRepository projectRepository;
+    @Mock private PermissionService permissionService;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditService auditService;
+    // Columna changes de cada fila escrita, en orden
+    private final List<String> writtenChanges = new ArrayList<>();
+    private int batches;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        auditService = new AuditService(jdbcTemplate, new ObjectMapper(), meterRegistry, auditEntryRepository,
+                userRepository, projectRepository, permissionService);
+        configure(10, AuditService.OverflowPolicy.WRITE_THROUGH);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    batches++;
+                    ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                    for (Object record : (Collection<Object>) invocation.getArgument(1)) {
+                        writtenChanges.add(changesColumn(setter, record));
+                    }
+                    return new int[0][];
+                });
+    }
+
+    @Test
+    void testFlushWritesOnlyChangedFieldsInBatches() {
+        ReflectionTestUtils.setField(auditService, "batchSize", 2);
+        for (int i = 0; i < 3; i++) {
+            auditService.record(AuditService.TASK, 1L, 10L, AuditService.UPDATE, "admin",
+                    snapshot("Antes", 1L), snapshot("Después " + i, 2L));
+        }
+        assertEquals(3, auditService.pendingEntries());
+
+        auditService.flush();
+
+        assertEquals(0, auditService.pendingEntries());
+        assertEquals(2, batches);
+        assertEquals("{\"title\":{\"old\":\"Antes\",\"new\":\"Después 0\"}}", writtenChanges.get(0));
+    }
+
+    @Test
+    void testUpdateWithoutChangesIsNotRecorded() {
+        auditService.record(AuditService.TASK, 1L, 10L, AuditService.UPDATE, "admin",
+                snapshot("Igual", 1L), snapshot("Igual", 2L));
+        assertEquals(0, auditService.pendingEntries());
+    }
+
+    @Test
+    void testFullBufferWritesThroughByDefault() {
+        configure(1, AuditService.OverflowPolicy.WRITE_THROUGH);
+        auditService.record(AuditService.TASK, 1L, 10L, AuditService.CREATE, "admin", null, snapshot("A", 1L));
+        auditService.record(AuditService.TASK, 2L, 10L, AuditService.CREATE, "admin", null, snapshot("B", 1L));
+
+        assertEquals(1, auditService.pendingEntries());
+        assertEquals(1, batches);
+    }
+
+    @Test
+    void testFullBufferDropsWhenConfigured() {
+        configure(1, AuditService.OverflowPolicy.DROP);
+        auditService.record(AuditService.TASK, 1L, 10L, AuditService.CREATE, "admin", null, snapshot("A", 1L));
+        auditService.record(AuditService.TASK, 2L, 10L, AuditService.CREATE, "admin", null, snapshot("B", 1L));
+
+        assertEquals(1, auditService.pendingEntries());
+        assertEquals(0, batches);
+        assertEquals(1.0, meterRegistry.get("audit.dropped").counter().count());
+    }
+
+    @Test
+    void testGetProjectAuditReturnsCursorWhenMoreEntries() {
+        User user = User.builder().id(1L).username("admin").build();
+        Project project = Project.builder().id(10L).build();
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(permissionService.canEditProject(user, project)).thenReturn(true);
+        when(auditEntryRepository.findByProjectIdAndIdLessThanOrderByIdDesc(10L, Long.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(entry(9L), entry(8L), entry(7L)));
+
+        AuditPageResponse page = auditService.getProjectAudit(10L, null, null, null, 2, "admin");
+
+        assertEquals(2, page.getEntries().size());
+        assertEquals(8L, page.getNextCursor());
+        assertEquals("Nuevo", ((Map<?, ?>) page.getEntries().get(0).getChanges().get("title")).get("new"));
+    }
+
+    @Test
+    void testGetProjectAuditLastPageHasNoCursor() {
+        User user = User.builder().id(1L).username("admin").build();
+        Project project = Project.builder().id(10L).build();
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(permissionService.canEditProject(user, project)).thenReturn(true);
+        when(auditEntryRepository.findByProjectIdAndEntityTypeAndEntityIdAndIdLessThanOrderByIdDesc(
+                10L, AuditService.TASK, 5L, 8L, Limit.of(3))).thenReturn(List.of(entry(7L)));
+
+        AuditPageResponse page = auditService.getProjectAudit(10L, AuditService.TASK, 5L, 8L, 2, "admin");
+
+        assertEquals(1, page.getEntries().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetProjectAuditRequiresEditPermission() {
+        User user = User.builder().id(1L).username("viewer").build();
+        Project project = Project.builder().id(10L).build();
+        when(userRepository.findByUsername("viewer")).thenReturn(Optional.of(user));
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(permissionService.canEditProject(user, project)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> auditService.getProjectAudit(10L, null, null, null, 50, "viewer"));
+        verify(auditEntryRepository, never()).findByProjectIdAndIdLessThanOrderByIdDesc(eq(10L), any(), any());
+    }
+
+    private void configure(int capacity, AuditService.OverflowPolicy policy) {
+        ReflectionTestUtils.setField(auditService, "bufferCapacity", capacity);
+        ReflectionTestUtils.setField(auditService, "batchSize", 500);
+        ReflectionTestUtils.setField(auditService, "offerTimeoutMs", 0L);
+        ReflectionTestUtils.setField(auditService, "overflowPolicy", policy);
+        meterRegistry.clear();
+        auditService.init();
+    }
+
+    private Map<String, Object> snapshot(String title, Long version) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("id", 1L);
+        snapshot.put("version", version);
+        snapshot.put("title", title);
+        return snapshot;
+    }
+
+    private AuditEntry entry(Long id) {
+        return AuditEntry.builder().id(id).entityType(AuditService.TASK).entityId(5L).projectId(10L)
+                .action(AuditService.UPDATE).username("admin")
+                .changes("{\"title\":{\"old\":\"Viejo\",\"new\":\"Nuevo\"}}").build();
+    }
+
+    private String changesColumn(ParameterizedPreparedStatementSetter<Object> setter, Object record) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        List<String> values = new ArrayList<>();
+        doAnswer(invocation -> {
+            if ((int) invocation.getArgument(0) == 6) {
+                values.add(invocation.getArgument(1));
+            }
+            return null;
+        }).when(statement).setString(anyInt(), any());
+        setter.setValues(statement, record);
+        return values.get(0);
+    }
+}
@@ -7,7 +7,6 @@ import com.davivienda.projectapp.model.RefreshToken;
 import com.davivienda.projectapp.model.Role;
 import com.davivienda.projectapp.model.User;
 import com.davivienda.projectapp.repository.RefreshTokenRepository;
-import com.davivienda.projectapp.repository.RoleRepository;
 import com.davivienda.projectapp.repository.UserRepository;
 import com.davivienda.projectapp.security.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +15,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -32,7 +32,7 @@ import static org.mockito.Mockito.*;
 
 class AuthServiceTest {
     @Mock private UserRepository userRepository;
-    @Mock private RoleRepository roleRepository;
+    @Mock private RoleService roleService;
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private JwtUtil jwtUtil;
     @Mock private AuthenticationManager authenticationManager;
@@ -51,10 +51,9 @@ class AuthServiceTest {
         request.setEmail("test@email.com");
         request.setPassword("password");
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
-        when(userRepository.findByEmail("test@email.com")).thenReturn(Optional.empty());
         Role userRole = Role.builder().id(1L).name("USER").build();
-        when(roleRepository.findByName("USER")).thenReturn(Optional.of(userRole));
+        when(roleService.roleForNewUser()).thenReturn(userRole);
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(passwordEncoder.encode("password")).thenReturn("encoded");
         when(jwtUtil.generateToken("testuser")).thenReturn("jwt-token");
         when(refreshTokenRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
@@ -62,6 +61,22 @@ class AuthServiceTest {
         AuthResponse response = authService.register(request);
         assertEquals("jwt-token", response.getToken());
         assertNotNull(response.getRefreshToken());
+        verify(userRepository, never()).count();
+        verify(refreshTokenRepository, never()).deleteAllByUser(any());
+    }
+
+    @Test
+    void register_duplicateUser() {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("testuser");
+        request.setEmail("test@email.com");
+        request.setPassword("password");
+
+        Role adminRole = Role.builder().id(1L).name("ADMIN").build();
+        when(roleService.roleForNewUser()).thenReturn(adminRole);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThrows(IllegalArgumentException.class, () -> authService.register(request));
     }
 
     @Test
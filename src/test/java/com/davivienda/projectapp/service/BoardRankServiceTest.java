@@ -0,0 +1,81 @@
+package com.davivienda.projectapp.service;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.davivienda.projectapp.repository.TaskRepository;
+
+public class BoardRankServiceTest {
+    @Mock private TaskRepository taskRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private ProjectSummaryService projectSummaryService;
+    @InjectMocks private BoardRankService boardRankService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(boardRankService, "maxRankLength", 32);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        when(taskRepository.findColumnsToRebalance(32)).thenReturn(List.of(column(1L, "TODO")));
+    }
+
+    @Test
+    void testRebalanceRewritesColumnUnderBoardLock() {
+        when(taskRepository.tryLockBoard(1L)).thenReturn(true);
+        when(taskRepository.needsRebalance(1L, "TODO", 32)).thenReturn(true);
+        when(taskRepository.findColumnIdsInOrder(1L, "TODO")).thenReturn(List.of(3L, 1L, 2L));
+        boardRankService.rebalance();
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE tasks SET board_rank = ? WHERE id = ?"), anyList());
+        verify(projectSummaryService).taskViewsChanged(1L);
+    }
+
+    @Test
+    void testRebalanceSkipsColumnLockedElsewhere() {
+        when(taskRepository.tryLockBoard(1L)).thenReturn(false);
+        boardRankService.rebalance();
+        verify(taskRepository, never()).findColumnIdsInOrder(any(), anyString());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(projectSummaryService, never()).taskViewsChanged(any());
+    }
+
+    @Test
+    void testRebalanceSkipsColumnAlreadyRebalanced() {
+        // Otra instancia la reescribió entre la búsqueda de columnas y el lock
+        when(taskRepository.tryLockBoard(1L)).thenReturn(true);
+        when(taskRepository.needsRebalance(1L, "TODO", 32)).thenReturn(false);
+        boardRankService.rebalance();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private TaskRepository.BoardColumnKey column(Long projectId, String status) {
+        return new TaskRepository.BoardColumnKey() {
+            @Override
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+        };
+    }
+}
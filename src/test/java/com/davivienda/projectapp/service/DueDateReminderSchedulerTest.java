@@ -0,0 +1,86 @@
+package com.davivienda.projectapp.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.davivienda.projectapp.event.TaskDueEvent;
+import com.davivienda.projectapp.repository.TaskRepository;
+
+public class DueDateReminderSchedulerTest {
+    @Mock private TaskRepository taskRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @InjectMocks private DueDateReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(scheduler, "leadMinutes", 60L);
+        ReflectionTestUtils.setField(scheduler, "horizonMinutes", 1440L);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 100);
+        when(taskRepository.findDueBetween(any(), any(), any(), any())).thenReturn(List.of());
+        scheduler.loadUpcoming();
+    }
+
+    @Test
+    void testFiresReminderAndOverdue() {
+        LocalDateTime due = LocalDateTime.now().plusHours(2);
+        scheduler.taskChanged(7L, due, true);
+        assertEquals(2, scheduler.scheduledCount());
+        when(taskRepository.findOpenDueTasks(any())).thenReturn(List.of(dueTask(7L, due)));
+
+        scheduler.fireDue(millis(due.minusMinutes(59)));
+        scheduler.fireDue(millis(due.plusSeconds(1)));
+
+        ArgumentCaptor<TaskDueEvent> events = ArgumentCaptor.forClass(TaskDueEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(TaskDueEvent.Type.REMINDER, events.getAllValues().get(0).type());
+        assertEquals(TaskDueEvent.Type.OVERDUE, events.getAllValues().get(1).type());
+        assertEquals(List.of(7L), events.getAllValues().get(1).taskIds());
+        assertEquals(0, scheduler.scheduledCount());
+    }
+
+    @Test
+    void testCompletedTaskIsCancelled() {
+        LocalDateTime due = LocalDateTime.now().plusHours(2);
+        scheduler.taskChanged(7L, due, true);
+        scheduler.taskChanged(7L, due, false);
+        assertEquals(0, scheduler.scheduledCount());
+    }
+
+    @Test
+    void testStaleDueDateIsNotPublished() {
+        LocalDateTime due = LocalDateTime.now().plusHours(2);
+        scheduler.taskChanged(7L, due, true);
+        // La fecha cambió en la base de datos sin pasar por el planificador
+        when(taskRepository.findOpenDueTasks(any())).thenReturn(List.of(dueTask(7L, due.plusDays(1))));
+        scheduler.fireDue(millis(due.plusSeconds(1)));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private long millis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private TaskRepository.DueTask dueTask(Long id, LocalDateTime dueDate) {
+        return new TaskRepository.DueTask() {
+            public Long getId() { return id; }
+            public LocalDateTime getDueDate() { return dueDate; }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.davivienda.projectapp.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.davivienda.projectapp.model.Label;
+import com.davivienda.projectapp.repository.LabelRepository;
+
+public class LabelCatalogTest {
+    @Mock private LabelRepository labelRepository;
+    @InjectMocks private LabelCatalog labelCatalog;
+
+    private final Label bug = Label.builder().id(1L).name("bug").color("#d73a4a").build();
+    private final Label ux = Label.builder().id(2L).name("ux").color("#0e8a16").build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(labelCatalog, "ttlSeconds", 60L);
+    }
+
+    @Test
+    void testCatalogIsCachedWithinTtl() {
+        when(labelRepository.findAvailableForProject(1L)).thenReturn(List.of(bug));
+        labelCatalog.getProjectLabels(1L);
+        labelCatalog.getProjectLabels(1L);
+        verify(labelRepository, times(1)).findAvailableForProject(1L);
+    }
+
+    @Test
+    void testExpiredCatalogIsReloaded() {
+        ReflectionTestUtils.setField(labelCatalog, "ttlSeconds", 0L);
+        when(labelRepository.findAvailableForProject(1L)).thenReturn(List.of(bug));
+        labelCatalog.getProjectLabels(1L);
+        labelCatalog.getProjectLabels(1L);
+        verify(labelRepository, times(2)).findAvailableForProject(1L);
+    }
+
+    @Test
+    void testMissingLabelReloadsBeforeRejecting() {
+        // La etiqueta 2 se creó en otra instancia después de cargar el catálogo
+        when(labelRepository.findAvailableForProject(1L)).thenReturn(List.of(bug), List.of(bug, ux));
+        labelCatalog.getProjectLabels(1L);
+        assertTrue(labelCatalog.getProjectLabels(1L, List.of(2L)).containsKey(2L));
+        assertTrue(labelCatalog.getProjectLabels(1L).containsKey(2L));
+        verify(labelRepository, times(2)).findAvailableForProject(1L);
+    }
+
+    @Test
+    void testLoadRacingWithEvictIsNotCached() {
+        // La etiqueta cambia mientras se consulta el catálogo: esa carga no debe quedarse en la caché
+        when(labelRepository.findAvailableForProject(1L)).thenAnswer(invocation -> {
+            labelCatalog.evict(1L);
+            return List.of(bug);
+        }).thenReturn(List.of(bug, ux));
+        labelCatalog.getProjectLabels(1L);
+        assertTrue(labelCatalog.getProjectLabels(1L).containsKey(2L));
+        verify(labelRepository, times(2)).findAvailableForProject(1L);
+    }
+}
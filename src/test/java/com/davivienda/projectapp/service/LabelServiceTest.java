@@ -1,24 +1,34 @@
 package com.davivienda.projectapp.service;
 
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import com.davivienda.projectapp.dto.LabelRequest;
+import com.davivienda.projectapp.dto.LabelResponse;
 import com.davivienda.projectapp.model.Label;
 import com.davivienda.projectapp.model.Project;
 import com.davivienda.projectapp.model.User;
 import com.davivienda.projectapp.repository.LabelRepository;
+import com.davivienda.projectapp.repository.LabelUsageRepository;
 import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.TaskRepository;
 import com.davivienda.projectapp.repository.UserRepository;
 
 public class LabelServiceTest {
@@ -26,6 +36,12 @@ public class LabelServiceTest {
     @Mock private ProjectRepository projectRepository;
     @Mock private UserRepository userRepository;
     @Mock private PermissionService permissionService;
+    @Mock private LabelCatalog labelCatalog;
+    @Mock private LabelUsageRepository labelUsageRepository;
+    @Mock private TaskRepository taskRepository;
+    @Mock private AuditService auditService;
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private ProjectSummaryService projectSummaryService;
     @InjectMocks private LabelService labelService;
 
     private User user;
@@ -46,10 +62,16 @@ public class LabelServiceTest {
         req.setName("Nueva etiqueta");
         req.setColor("#00FF00");
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(labelRepository.save(any(Label.class))).thenReturn(label);
+        when(labelRepository.saveAndFlush(any(Label.class))).thenReturn(label);
         assertNotNull(labelService.createLabel(req, "testuser"));
     }
 
+    @Test
+    void testGlobalLabelNamesAreUniqueWithPartialIndex() {
+        labelService.createGlobalNameIndex();
+        verify(jdbcTemplate).execute(contains("ON labels (name) WHERE project_id IS NULL"));
+    }
+
     @Test
     void testGetLabelSuccess() {
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
@@ -57,6 +79,28 @@ public class LabelServiceTest {
         assertNotNull(labelService.getLabel(1L, "testuser"));
     }
 
+    @Test
+    void testCreateLabelDuplicateName() {
+        LabelRequest req = new LabelRequest();
+        req.setName("Urgente");
+        req.setColor("#FF0000");
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(labelRepository.saveAndFlush(any(Label.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+        assertThrows(IllegalArgumentException.class, () -> labelService.createLabel(req, "testuser"));
+    }
+
+    @Test
+    void testGetProjectLabelsFromCatalog() {
+        LabelResponse cached = new LabelResponse();
+        cached.setId(1L);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(permissionService.canViewProject(user, project)).thenReturn(true);
+        when(labelCatalog.getProjectLabels(1L)).thenReturn(Map.of(1L, cached));
+        assertEquals(1, labelService.getProjectLabels(1L, "testuser").size());
+        verify(labelRepository, never()).findAll();
+    }
+
     @Test
     void testUpdateLabelNoUser() {
         LabelRequest req = new LabelRequest();
@@ -64,6 +108,29 @@ public class LabelServiceTest {
         assertThrows(IllegalArgumentException.class, () -> labelService.updateLabel(1L, req, "testuser"));
     }
 
+    @Test
+    void testRenameGlobalLabelBumpsEveryProjectRevision() {
+        LabelRequest req = new LabelRequest();
+        req.setName("Bloqueante");
+        req.setColor("#FF0000");
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(labelRepository.findById(1L)).thenReturn(Optional.of(label));
+        when(labelRepository.saveAndFlush(label)).thenReturn(label);
+        labelService.updateLabel(1L, req, "testuser");
+        verify(projectSummaryService).taskViewsChanged(null);
+    }
+
+    @Test
+    void testDeleteProjectLabelBumpsItsRevision() {
+        label.setProject(project);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(labelRepository.findById(1L)).thenReturn(Optional.of(label));
+        when(permissionService.canViewProject(user, project)).thenReturn(true);
+        labelService.deleteLabel(1L, "testuser");
+        verify(taskRepository).removeLabelFromAllTasks(1L);
+        verify(projectSummaryService).taskViewsChanged(1L);
+    }
+
     @Test
     void testDeleteLabelNoUser() {
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
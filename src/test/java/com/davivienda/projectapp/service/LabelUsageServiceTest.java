@@ -0,0 +1,97 @@
+package com.davivienda.projectapp.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+
+import com.davivienda.projectapp.dto.LabelResponse;
+import com.davivienda.projectapp.dto.LabelUsageResponse;
+import com.davivienda.projectapp.model.LabelUsage;
+import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.TaskStatus;
+import com.davivienda.projectapp.model.User;
+import com.davivienda.projectapp.repository.LabelUsageRepository;
+import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.UserRepository;
+
+public class LabelUsageServiceTest {
+    @Mock private LabelUsageRepository labelUsageRepository;
+    @Mock private ProjectRepository projectRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private PermissionService permissionService;
+    @Mock private LabelCatalog labelCatalog;
+    @InjectMocks private LabelUsageService labelUsageService;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        user = User.builder().id(1L).username("testuser").build();
+        project = Project.builder().id(1L).name("Test Project").createdBy(user).build();
+    }
+
+    @Test
+    void testSameStatusOnlyTouchesDiff() {
+        labelUsageService.recordTaskChange(1L, List.of(1L, 2L), TaskStatus.TODO, List.of(2L, 3L), TaskStatus.TODO);
+        verify(labelUsageRepository).increment(1L, Set.of(1L), "TODO", -1);
+        verify(labelUsageRepository).increment(1L, Set.of(3L), "TODO", 1);
+    }
+
+    @Test
+    void testStatusChangeMovesAllLabels() {
+        labelUsageService.recordTaskChange(1L, List.of(1L, 2L), TaskStatus.TODO, List.of(1L, 2L), TaskStatus.DONE);
+        verify(labelUsageRepository).increment(1L, Set.of(1L, 2L), "TODO", -1);
+        verify(labelUsageRepository).increment(1L, Set.of(1L, 2L), "DONE", 1);
+    }
+
+    @Test
+    void testNoLabelsSkipsWrites() {
+        labelUsageService.recordTaskChange(1L, null, null, List.of(), TaskStatus.TODO);
+        verify(labelUsageRepository, never()).increment(anyLong(), any(), anyString(), anyLong());
+    }
+
+    @Test
+    void testGetProjectLabelUsageHistogram() {
+        LabelResponse label = new LabelResponse();
+        label.setId(5L);
+        label.setName("Bug");
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(permissionService.canViewProject(user, project)).thenReturn(true);
+        when(labelCatalog.getProjectLabels(1L)).thenReturn(Map.of(5L, label));
+        when(labelUsageRepository.findByProjectId(eq(1L))).thenReturn(List.of(
+                LabelUsage.builder().projectId(1L).labelId(5L).status(TaskStatus.TODO).taskCount(3).build(),
+                LabelUsage.builder().projectId(1L).labelId(5L).status(TaskStatus.DONE).taskCount(2).build()));
+
+        List<LabelUsageResponse> usage = labelUsageService.getProjectLabelUsage(1L, "testuser");
+        assertEquals(1, usage.size());
+        assertEquals(5, usage.get(0).getTotal());
+        assertEquals(3L, usage.get(0).getByStatus().get(TaskStatus.TODO));
+    }
+
+    @Test
+    void testGetProjectLabelUsageNoPermission() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(permissionService.canViewProject(user, project)).thenReturn(false);
+        assertThrows(IllegalArgumentException.class, () -> labelUsageService.getProjectLabelUsage(1L, "testuser"));
+    }
+}
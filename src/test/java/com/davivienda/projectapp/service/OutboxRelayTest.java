@@ -0,0 +1,99 @@
+package com.davivienda.projectapp.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.davivienda.projectapp.event.DomainEvent;
+import com.davivienda.projectapp.event.OutboxSink;
+import com.davivienda.projectapp.model.OutboxEvent;
+import com.davivienda.projectapp.repository.OutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OutboxRelayTest {
+    @Mock private OutboxEventRepository outboxEventRepository;
+    @Mock private OutboxSink outboxSink;
+    @Mock private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxSink, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 3);
+        outboxRelay.registerMetrics();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        when(outboxEventRepository.findBacklog()).thenReturn(backlog(3L, 0L));
+    }
+
+    @Test
+    void testRelayDrainsFullBatchesAndMarksPublished() {
+        when(outboxEventRepository.lockNextBatch(anyInt()))
+                .thenReturn(List.of(event(1L), event(2L)), List.of(event(3L)));
+        outboxRelay.relay();
+        verify(outboxSink, times(3)).publish(any(DomainEvent.class));
+        verify(outboxEventRepository).markPublished(List.of(1L, 2L));
+        verify(outboxEventRepository).markPublished(List.of(3L));
+        assertEquals(3.0, meterRegistry.get("outbox.pending").gauge().value());
+    }
+
+    @Test
+    void testSinkFailureStopsBatchAndKeepsRemainingEvents() {
+        when(outboxEventRepository.lockNextBatch(anyInt())).thenReturn(List.of(event(1L), event(2L)));
+        doThrow(new IllegalStateException("sink caído")).when(outboxSink)
+                .publish(new DomainEvent(2L, "Task", 2L, "TaskCreated", "{}", null));
+        outboxRelay.relay();
+        verify(outboxEventRepository).markPublished(List.of(1L));
+        verify(outboxEventRepository).markFailed(eq(2L), anyString(), eq(3));
+        verify(outboxEventRepository, times(1)).lockNextBatch(anyInt());
+        verify(outboxEventRepository, never()).markPublished(List.of(1L, 2L));
+    }
+
+    @Test
+    void testEventIsParkedAfterMaxAttemptsAndReportedAsMetric() {
+        OutboxEvent failing = event(1L);
+        failing.setAttempts(2);
+        when(outboxEventRepository.lockNextBatch(anyInt())).thenReturn(List.of(failing));
+        when(outboxEventRepository.findBacklog()).thenReturn(backlog(0L, 1L));
+        doThrow(new IllegalStateException("payload inválido")).when(outboxSink).publish(any(DomainEvent.class));
+        outboxRelay.relay();
+        verify(outboxEventRepository).markFailed(1L, "payload inválido", 3);
+        assertEquals(1.0, meterRegistry.get("outbox.parked").gauge().value());
+        assertEquals(0.0, meterRegistry.get("outbox.pending").gauge().value());
+    }
+
+    private OutboxEvent event(Long id) {
+        return OutboxEvent.builder().id(id).aggregateType("Task").aggregateId(id)
+                .eventType("TaskCreated").payload("{}").build();
+    }
+
+    private OutboxEventRepository.Backlog backlog(Long pending, Long parked) {
+        return new OutboxEventRepository.Backlog() {
+            public Long getPending() { return pending; }
+            public LocalDateTime getOldest() { return null; }
+            public Long getParked() { return parked; }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.davivienda.projectapp.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+
+import com.davivienda.projectapp.dto.CumulativeFlowResponse;
+import com.davivienda.projectapp.dto.DailyStatusPoint;
+import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.ProjectDailyStatus;
+import com.davivienda.projectapp.model.TaskStatus;
+import com.davivienda.projectapp.model.User;
+import com.davivienda.projectapp.repository.ProjectDailyStatusRepository;
+import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.UserRepository;
+
+public class ProjectFlowServiceTest {
+    @Mock private ProjectDailyStatusRepository dailyStatusRepository;
+    @Mock private ProjectRepository projectRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private PermissionService permissionService;
+    @InjectMocks private ProjectFlowService projectFlowService;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        user = User.builder().id(1L).username("testuser").build();
+        project = Project.builder().id(1L).name("Test Project").build();
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(permissionService.canViewProject(user, project)).thenReturn(true);
+    }
+
+    @Test
+    void testStatusChangeSeedsDayBeforeApplyingDeltas() {
+        projectFlowService.recordStatusChange(1L, TaskStatus.TODO, TaskStatus.DONE);
+
+        LocalDate today = LocalDate.now();
+        InOrder order = inOrder(dailyStatusRepository);
+        order.verify(dailyStatusRepository).seedDay(1L, today);
+        order.verify(dailyStatusRepository).increment(1L, today, "TODO", -1);
+        order.verify(dailyStatusRepository).increment(1L, today, "DONE", 1);
+    }
+
+    @Test
+    void testSameStatusDoesNotTouchSeries() {
+        projectFlowService.recordStatusChange(1L, TaskStatus.REVIEW, TaskStatus.REVIEW);
+        verify(dailyStatusRepository, never()).seedDay(anyLong(), any());
+        verify(dailyStatusRepository, never()).increment(anyLong(), any(), anyString(), anyLong());
+    }
+
+    @Test
+    void testCumulativeFlowCarriesLastSnapshotForward() {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 4);
+        // Foto anterior al rango (29/02) y un cambio el 03/03
+        when(dailyStatusRepository.findSeries(1L, from, to)).thenReturn(List.of(
+                row(LocalDate.of(2024, 2, 29), TaskStatus.TODO, 5),
+                row(LocalDate.of(2024, 2, 29), TaskStatus.DONE, 1),
+                row(LocalDate.of(2024, 3, 3), TaskStatus.TODO, 3),
+                row(LocalDate.of(2024, 3, 3), TaskStatus.DONE, 3)));
+
+        CumulativeFlowResponse response = projectFlowService.getCumulativeFlow(1L, from, to, "testuser");
+
+        List<DailyStatusPoint> points = response.getPoints();
+        assertEquals(4, points.size());
+        assertEquals(5L, points.get(0).getByStatus().get(TaskStatus.TODO));
+        assertEquals(5L, points.get(1).getRemaining());
+        assertEquals(3L, points.get(2).getRemaining());
+        assertEquals(6L, points.get(3).getTotal());
+        assertEquals(0L, points.get(3).getByStatus().get(TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void testCumulativeFlowRejectsInvertedRange() {
+        assertThrows(IllegalArgumentException.class, () -> projectFlowService.getCumulativeFlow(1L,
+                LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 1), "testuser"));
+    }
+
+    private ProjectDailyStatus row(LocalDate day, TaskStatus status, long count) {
+        return ProjectDailyStatus.builder().projectId(1L).day(day).status(status).taskCount(count).build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.davivienda.projectapp.service;
 
+import com.davivienda.projectapp.dto.MemberWorkloadResponse;
 import com.davivienda.projectapp.dto.ProjectMemberRequest;
 import com.davivienda.projectapp.model.*;
 import com.davivienda.projectapp.repository.ProjectRepository;
@@ -10,6 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.util.Optional;
 import java.util.List;
 import java.util.Collections;
@@ -21,6 +25,8 @@ public class ProjectMemberServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private ProjectRepository projectRepository;
     @Mock private PermissionService permissionService;
+    @Mock private AuditService auditService;
+    @Mock private ProjectSummaryService projectSummaryService;
     @InjectMocks private ProjectMemberService projectMemberService;
 
     private User user;
@@ -69,4 +75,64 @@ public class ProjectMemberServiceTest {
         when(permissionService.canManageProjectMembers(user, project)).thenReturn(false);
         assertThrows(IllegalArgumentException.class, () -> projectMemberService.removeMember(1L, "otheruser", "testuser"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGetMemberWorkloadIncludesIdleMembers() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(anyLong())).thenReturn(Optional.of(project));
+        when(permissionService.canEditProject(user, project)).thenReturn(true);
+        when(userProjectRepository.findWorkloadByProjectId(1L)).thenReturn(List.of(
+                row("ana", "TEAM_MEMBER", "TODO", "URGENT", 2L),
+                row("ana", "TEAM_MEMBER", "IN_PROGRESS", "LOW", 1L),
+                row("luis", "VIEWER", null, null, 0L)));
+        List<MemberWorkloadResponse> workload = projectMemberService.getMemberWorkload(1L, "testuser");
+        assertEquals(2, workload.size());
+        assertEquals(3, workload.get(0).getOpenTasks());
+        assertEquals(11, workload.get(0).getLoad());
+        assertEquals(2L, workload.get(0).getByStatus().get(TaskStatus.TODO));
+        assertEquals(0, workload.get(1).getOpenTasks());
+        assertTrue(workload.get(1).getByStatus().isEmpty());
+    }
+
+    @Test
+    void testWorkloadIsEvictedOnlyAfterCommit() {
+        ReflectionTestUtils.setField(projectMemberService, "workloadCacheTtlSeconds", 30L);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(anyLong())).thenReturn(Optional.of(project));
+        when(permissionService.canEditProject(user, project)).thenReturn(true);
+        when(userProjectRepository.findWorkloadByProjectId(1L)).thenReturn(List.of(row("ana", "TEAM_MEMBER", null, null, 0L)));
+        projectMemberService.getMemberWorkload(1L, "testuser");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            projectMemberService.evictWorkload(1L);
+            // Antes del commit una lectura sigue usando la caché y no guarda datos sin confirmar
+            projectMemberService.getMemberWorkload(1L, "testuser");
+            verify(userProjectRepository, times(1)).findWorkloadByProjectId(1L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        projectMemberService.getMemberWorkload(1L, "testuser");
+        verify(userProjectRepository, times(2)).findWorkloadByProjectId(1L);
+    }
+
+    @Test
+    void testGetMemberWorkloadNoPermission() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(anyLong())).thenReturn(Optional.of(project));
+        when(permissionService.canEditProject(user, project)).thenReturn(false);
+        assertThrows(IllegalArgumentException.class, () -> projectMemberService.getMemberWorkload(1L, "testuser"));
+        verify(userProjectRepository, never()).findWorkloadByProjectId(anyLong());
+    }
+
+    private UserProjectRepository.WorkloadRow row(String username, String role, String status, String priority, Long total) {
+        return new UserProjectRepository.WorkloadRow() {
+            public String getUsername() { return username; }
+            public String getRole() { return role; }
+            public String getStatus() { return status; }
+            public String getPriority() { return priority; }
+            public Long getTotal() { return total; }
+        };
+    }
+}
@@ -1,7 +1,10 @@
 package com.davivienda.projectapp.service;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,25 +12,53 @@ import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import com.davivienda.projectapp.dto.ProjectRequest;
+import com.davivienda.projectapp.dto.ProjectResponse;
 import com.davivienda.projectapp.model.Project;
 import com.davivienda.projectapp.model.ProjectStatus;
+import com.davivienda.projectapp.model.ProjectSummary;
+import com.davivienda.projectapp.model.TaskStatus;
 import com.davivienda.projectapp.model.User;
 import com.davivienda.projectapp.model.UserProject;
+import com.davivienda.projectapp.repository.LabelRepository;
+import com.davivienda.projectapp.repository.LabelUsageRepository;
+import com.davivienda.projectapp.repository.ProjectDailyStatusRepository;
 import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.ProjectSummaryRepository;
+import com.davivienda.projectapp.repository.TaskRepository;
+import com.davivienda.projectapp.repository.TaskStatusTransitionRepository;
 import com.davivienda.projectapp.repository.UserProjectRepository;
 import com.davivienda.projectapp.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class ProjectServiceTest {
     @Mock private ProjectRepository projectRepository;
     @Mock private UserRepository userRepository;
     @Mock private UserProjectRepository userProjectRepository;
     @Mock private PermissionService permissionService;
+    @Mock private TaskRepository taskRepository;
+    @Mock private LabelRepository labelRepository;
+    @Mock private LabelUsageRepository labelUsageRepository;
+    @Mock private LabelCatalog labelCatalog;
+    @Mock private OutboxService outboxService;
+    @Mock private AuditService auditService;
+    @Mock private TaskStatusTransitionRepository transitionRepository;
+    @Mock private ProjectDailyStatusRepository dailyStatusRepository;
+    @Mock private ProjectSummaryRepository summaryRepository;
+    @Mock private ProjectSummaryService projectSummaryService;
+    @Mock private ProjectMemberService projectMemberService;
+    @Mock private DueDateReminderScheduler dueDateReminderScheduler;
     @InjectMocks private ProjectService projectService;
 
     private User user;
@@ -52,14 +83,55 @@ public class ProjectServiceTest {
         when(userProjectRepository.save(any(UserProject.class))).thenReturn(userProject);
         when(projectRepository.findById(anyLong())).thenReturn(Optional.of(project));
         assertNotNull(projectService.createProject(req, "testuser"));
+        verify(projectSummaryService).projectCreated(1L);
+    }
+
+    @Test
+    void testGetUserProjectsReadsSummaries() {
+        ProjectSummary summary = ProjectSummary.builder().projectId(1L).version(2L).name("Test Project")
+                .status(ProjectStatus.ACTIVE).createdByUsername("testuser").todoCount(2).inProgressCount(1)
+                .reviewCount(0).doneCount(4).memberCount(2).memberIds(new Long[] {1L, 2L})
+                .memberUsernames(new String[] {"testuser", "otro"}).build();
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(summaryRepository.findActiveByMember(1L)).thenReturn(List.of(summary));
+
+        List<ProjectResponse> projects = projectService.getUserProjects("testuser");
+
+        assertEquals(7, projects.get(0).getTaskCount());
+        assertEquals(4, projects.get(0).getTaskCountsByStatus().get(TaskStatus.DONE));
+        assertEquals(List.of("testuser", "otro"), projects.get(0).getMembers());
+        verify(projectRepository, never()).findProjectsByUser(any());
     }
 
     @Test
     void testGetProjectNoPermission() {
+        ProjectSummary summary = ProjectSummary.builder().projectId(1L).revision(3L).build();
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(permissionService.canViewProject(user, project)).thenReturn(false);
+        when(projectSummaryService.findActive(1L)).thenReturn(Optional.of(summary));
+        when(permissionService.canViewProject(user, summary)).thenReturn(false);
         assertThrows(IllegalArgumentException.class, () -> projectService.getProject(1L, "testuser"));
+        verify(projectRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetProjectMapsFromSummary() {
+        ProjectSummary summary = ProjectSummary.builder().projectId(1L).name("Test Project").revision(3L)
+                .todoCount(2).doneCount(1).memberCount(1).memberUsernames(new String[] { "testuser" })
+                .lastActivityAt(LocalDateTime.of(2024, 5, 1, 10, 0)).build();
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectSummaryService.findActive(1L)).thenReturn(Optional.of(summary));
+        when(permissionService.canViewProject(user, summary)).thenReturn(true);
+
+        ProjectResponse response = projectService.getProject(1L, "testuser");
+
+        assertEquals("Test Project", response.getName());
+        assertEquals(3, response.getTaskCount());
+        assertEquals(List.of("testuser"), response.getMembers());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 0), response.getLastActivityAt());
+        verify(projectRepository, never()).findById(anyLong());
+        // La respuesta se comparte entre las peticiones de la misma revisión
+        assertThrows(UnsupportedOperationException.class, () -> response.getMembers().add("otro"));
+        assertThrows(UnsupportedOperationException.class, () -> response.getTaskCountsByStatus().put(TaskStatus.DONE, 9));
     }
 
     @Test
@@ -71,6 +143,32 @@ public class ProjectServiceTest {
         assertThrows(IllegalArgumentException.class, () -> projectService.updateProject(1L, req, "testuser"));
     }
 
+    @Test
+    void testPatchProjectUpdatesOnlySuppliedFields() throws Exception {
+        project.setDescription("Descripción original");
+        project.setVersion(2L);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(permissionService.canEditProject(user, project)).thenReturn(true);
+        when(projectRepository.saveAndFlush(any(Project.class))).thenReturn(project);
+        JsonNode patch = new ObjectMapper().readTree("{\"name\": \"Renombrado\"}");
+        projectService.patchProject(1L, patch, 2L, "testuser");
+        assertEquals("Renombrado", project.getName());
+        assertEquals("Descripción original", project.getDescription());
+        assertEquals(ProjectStatus.ACTIVE, project.getStatus());
+    }
+
+    @Test
+    void testPatchProjectStaleVersion() throws Exception {
+        project.setVersion(3L);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(permissionService.canEditProject(user, project)).thenReturn(true);
+        JsonNode patch = new ObjectMapper().readTree("{\"name\": \"Renombrado\"}");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> projectService.patchProject(1L, patch, 2L, "testuser"));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
+    }
+
     @Test
     void testDeleteProjectNoPermission() {
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
@@ -78,4 +176,25 @@ public class ProjectServiceTest {
         when(permissionService.canDeleteProject(user, project)).thenReturn(false);
         assertThrows(IllegalArgumentException.class, () -> projectService.deleteProject(1L, "testuser"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testDeleteProjectUsesBulkDeletesInOrder() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(permissionService.canDeleteProject(user, project)).thenReturn(true);
+        when(taskRepository.findIdsByProjectId(1L)).thenReturn(List.of(7L, 8L));
+        projectService.deleteProject(1L, "testuser");
+
+        InOrder inOrder = inOrder(labelUsageRepository, taskRepository, labelRepository, userProjectRepository, projectRepository);
+        inOrder.verify(labelUsageRepository).deleteByProjectId(1L);
+        inOrder.verify(taskRepository).deleteLabelLinksByProjectId(1L);
+        inOrder.verify(taskRepository).deleteByProjectId(1L);
+        inOrder.verify(labelRepository).deleteByProjectId(1L);
+        inOrder.verify(userProjectRepository).deleteByProjectId(1L);
+        inOrder.verify(projectRepository).deleteByIdDirect(1L);
+        verify(projectRepository, never()).delete(any(Project.class));
+        verify(projectMemberService).evictWorkload(1L);
+        verify(dueDateReminderScheduler).taskDeleted(7L);
+        verify(dueDateReminderScheduler).taskDeleted(8L);
+    }
+}
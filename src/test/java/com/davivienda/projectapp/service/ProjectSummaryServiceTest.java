@@ -0,0 +1,45 @@
+package com.davivienda.projectapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.davivienda.projectapp.model.TaskStatus;
+import com.davivienda.projectapp.repository.ProjectSummaryRepository;
+
+public class ProjectSummaryServiceTest {
+    @Mock private ProjectSummaryRepository summaryRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+    @InjectMocks private ProjectSummaryService projectSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testStatusChangeMovesOneTaskBetweenCounters() {
+        projectSummaryService.taskChanged(1L, TaskStatus.REVIEW, TaskStatus.DONE);
+        verify(summaryRepository).applyTaskDelta(eq(1L), eq(0), eq(0), eq(-1), eq(1), any());
+    }
+
+    @Test
+    void testCreateAndDeleteAdjustSingleCounter() {
+        projectSummaryService.taskChanged(1L, null, TaskStatus.TODO);
+        verify(summaryRepository).applyTaskDelta(eq(1L), eq(1), eq(0), eq(0), eq(0), any());
+        projectSummaryService.taskChanged(2L, TaskStatus.IN_PROGRESS, null);
+        verify(summaryRepository).applyTaskDelta(eq(2L), eq(0), eq(-1), eq(0), eq(0), any());
+    }
+
+    @Test
+    void testEditWithoutStatusChangeOnlyTouchesActivity() {
+        projectSummaryService.taskChanged(1L, TaskStatus.TODO, TaskStatus.TODO);
+        verify(summaryRepository).applyTaskDelta(eq(1L), eq(0), eq(0), eq(0), eq(0), any());
+    }
+}
@@ -0,0 +1,65 @@
+package com.davivienda.projectapp.service;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+
+import com.davivienda.projectapp.model.Role;
+import com.davivienda.projectapp.repository.RoleRepository;
+import com.davivienda.projectapp.repository.UserRepository;
+
+public class RoleServiceTest {
+    @Mock private RoleRepository roleRepository;
+    @Mock private UserRepository userRepository;
+    @InjectMocks private RoleService roleService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(roleRepository.findByName("ADMIN")).thenReturn(Optional.of(Role.builder().id(1L).name("ADMIN").build()));
+        when(roleRepository.findByName("USER")).thenReturn(Optional.of(Role.builder().id(2L).name("USER").build()));
+    }
+
+    @Test
+    void testFirstUserIsDecidedInTheDatabase() {
+        when(userRepository.existsAnyUser()).thenReturn(false, false, true);
+        roleService.bootstrap();
+        assertEquals("ADMIN", roleService.roleForNewUser().getName());
+        assertEquals("USER", roleService.roleForNewUser().getName());
+        verify(userRepository, times(2)).lockFirstUserClaim();
+    }
+
+    @Test
+    void testExistingUsersGetUserRoleWithoutLocking() {
+        when(userRepository.existsAnyUser()).thenReturn(true);
+        roleService.bootstrap();
+        assertEquals("USER", roleService.roleForNewUser().getName());
+        verify(userRepository, never()).lockFirstUserClaim();
+    }
+
+    @Test
+    void testFailedFirstRegistrationLeavesAdminAvailable() {
+        // El registro que recibió ADMIN hizo rollback: la tabla sigue vacía
+        when(userRepository.existsAnyUser()).thenReturn(false);
+        roleService.bootstrap();
+        assertEquals("ADMIN", roleService.roleForNewUser().getName());
+        assertEquals("ADMIN", roleService.roleForNewUser().getName());
+    }
+
+    @Test
+    void testRolesAreCached() {
+        roleService.getRole("USER");
+        roleService.getRole("USER");
+        verify(roleRepository, times(1)).findByName(anyString());
+    }
+}
@@ -0,0 +1,112 @@
+package com.davivienda.projectapp.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+
+import com.davivienda.projectapp.dto.FlowMetricsResponse;
+import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.TaskStatus;
+import com.davivienda.projectapp.model.User;
+import com.davivienda.projectapp.repository.ProjectRepository;
+import com.davivienda.projectapp.repository.TaskStatusTransitionRepository;
+import com.davivienda.projectapp.repository.UserRepository;
+
+public class TaskAnalyticsServiceTest {
+    @Mock private TaskStatusTransitionRepository transitionRepository;
+    @Mock private ProjectRepository projectRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private PermissionService permissionService;
+    @InjectMocks private TaskAnalyticsService taskAnalyticsService;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        user = User.builder().id(1L).username("testuser").build();
+        project = Project.builder().id(1L).name("Test Project").build();
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(permissionService.canViewProject(user, project)).thenReturn(true);
+    }
+
+    @Test
+    void testGetFlowMetricsMapsRowsAndUsesExclusiveEnd() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        when(transitionRepository.findFlowByPeriod(1L, from.atStartOfDay(), LocalDate.of(2024, 2, 1).atStartOfDay(), "week",
+                1, 3)).thenReturn(List.of(flowRow("2024-01-08", 4L, 30.0, null)));
+        when(transitionRepository.findTimeInStatus(1L, from.atStartOfDay(), LocalDate.of(2024, 2, 1).atStartOfDay()))
+                .thenReturn(List.of(statusRow(2, 3L, 12.5)));
+
+        FlowMetricsResponse response = taskAnalyticsService.getFlowMetrics(1L, from, to, "WEEK", "testuser");
+
+        assertEquals("week", response.getPeriod());
+        assertEquals(LocalDate.of(2024, 1, 8), response.getPeriods().get(0).getPeriodStart());
+        assertEquals(4L, response.getPeriods().get(0).getThroughput());
+        assertEquals(30.0, response.getPeriods().get(0).getLeadTimeP50Hours());
+        assertNull(response.getPeriods().get(0).getCycleTimeP50Hours());
+        assertEquals(TaskStatus.REVIEW, response.getTimeInStatus().get(0).getStatus());
+        assertEquals(12.5, response.getTimeInStatus().get(0).getAverageHours());
+    }
+
+    // task_status_transitions guarda el ordinal: reordenar o insertar estados exige migrar sus filas
+    @Test
+    void testTaskStatusOrdinalsMatchStoredValues() {
+        assertEquals(List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS, TaskStatus.REVIEW, TaskStatus.DONE),
+                List.of(TaskStatus.values()));
+    }
+
+    @Test
+    void testGetFlowMetricsRejectsUnknownPeriod() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskAnalyticsService.getFlowMetrics(1L, null, null, "year", "testuser"));
+    }
+
+    @Test
+    void testGetFlowMetricsRejectsInvertedRange() {
+        assertThrows(IllegalArgumentException.class, () -> taskAnalyticsService.getFlowMetrics(1L,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), "day", "testuser"));
+    }
+
+    @Test
+    void testGetFlowMetricsNoPermission() {
+        when(permissionService.canViewProject(user, project)).thenReturn(false);
+        assertThrows(IllegalArgumentException.class,
+                () -> taskAnalyticsService.getFlowMetrics(1L, null, null, "week", "testuser"));
+    }
+
+    private TaskStatusTransitionRepository.FlowPeriodRow flowRow(String periodStart, Long throughput, Double lead, Double cycle) {
+        return new TaskStatusTransitionRepository.FlowPeriodRow() {
+            public String getPeriodStart() { return periodStart; }
+            public Long getThroughput() { return throughput; }
+            public Double getCycleP50() { return cycle; }
+            public Double getCycleP85() { return cycle; }
+            public Double getCycleP95() { return cycle; }
+            public Double getLeadP50() { return lead; }
+            public Double getLeadP85() { return lead; }
+        };
+    }
+
+    private TaskStatusTransitionRepository.StatusTimeRow statusRow(Integer status, Long samples, Double hours) {
+        return new TaskStatusTransitionRepository.StatusTimeRow() {
+            public Integer getStatus() { return status; }
+            public Long getSamples() { return samples; }
+            public Double getAverageHours() { return hours; }
+            public Double getP50() { return hours; }
+            public Double getP85() { return hours; }
+        };
+    }
+}
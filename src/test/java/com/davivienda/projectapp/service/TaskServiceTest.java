@@ -1,40 +1,84 @@
 package com.davivienda.projectapp.service;
 
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.davivienda.projectapp.dto.BoardColumnResponse;
+import com.davivienda.projectapp.dto.BoardResponse;
+import com.davivienda.projectapp.dto.BulkLabelRequest;
+import com.davivienda.projectapp.dto.DashboardProjectResponse;
+import com.davivienda.projectapp.dto.DashboardResponse;
+import com.davivienda.projectapp.dto.LabelResponse;
+import com.davivienda.projectapp.dto.MoveTaskRequest;
+import com.davivienda.projectapp.dto.NormalizedTaskListResponse;
 import com.davivienda.projectapp.dto.TaskRequest;
+import com.davivienda.projectapp.dto.TaskResponse;
+import com.davivienda.projectapp.model.Label;
 import com.davivienda.projectapp.model.Project;
+import com.davivienda.projectapp.model.ProjectSummary;
 import com.davivienda.projectapp.model.Task;
 import com.davivienda.projectapp.model.TaskPriority;
 import com.davivienda.projectapp.model.TaskStatus;
 import com.davivienda.projectapp.model.User;
-import com.davivienda.projectapp.repository.LabelRepository;
 import com.davivienda.projectapp.repository.ProjectRepository;
 import com.davivienda.projectapp.repository.TaskRepository;
+import com.davivienda.projectapp.repository.TaskStatusTransitionRepository;
 import com.davivienda.projectapp.repository.UserRepository;
+import com.davivienda.projectapp.util.BoardCursors;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
 public class TaskServiceTest {
     @Mock private TaskRepository taskRepository;
     @Mock private ProjectRepository projectRepository;
     @Mock private UserRepository userRepository;
-    @Mock private LabelRepository labelRepository;
     @Mock private PermissionService permissionService;
+    @Mock private LabelCatalog labelCatalog;
+    @Mock private OutboxService outboxService;
+    @Mock private EntityManager entityManager;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private AuditService auditService;
+    @Mock private TaskStatusTransitionRepository transitionRepository;
+    @Mock private LabelUsageService labelUsageService;
+    @Mock private ProjectFlowService projectFlowService;
+    @Mock private ProjectSummaryService projectSummaryService;
+    @Mock private DueDateReminderScheduler dueDateReminderScheduler;
     @InjectMocks private TaskService taskService;
 
     private User user;
     private Project project;
     private Task task;
+    private ProjectSummary boardSummary;
 
     @BeforeEach
     void setUp() {
@@ -42,6 +86,7 @@ public class TaskServiceTest {
         user = User.builder().id(1L).username("testuser").build();
         project = Project.builder().id(1L).name("Test Project").createdBy(user).build();
         task = Task.builder().id(1L).title("Test Task").project(project).createdBy(user).status(TaskStatus.TODO).priority(TaskPriority.MEDIUM).build();
+        boardSummary = ProjectSummary.builder().projectId(1L).todoCount(5).doneCount(3).revision(1L).build();
     }
 
     @Test
@@ -54,6 +99,21 @@ public class TaskServiceTest {
         when(permissionService.canCreateTask(user, project)).thenReturn(true);
         when(taskRepository.save(any(Task.class))).thenReturn(task);
         assertNotNull(taskService.createTask(req, "testuser"));
+        verify(outboxService).record(eq(OutboxService.TASK), eq(1L), eq("TaskCreated"), any());
+    }
+
+    @Test
+    void testCreateTaskRejectsLabelOutsideProject() {
+        TaskRequest req = new TaskRequest();
+        req.setTitle("Nueva tarea");
+        req.setProjectId(1L);
+        req.setLabelIds(List.of(99L));
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(permissionService.canCreateTask(user, project)).thenReturn(true);
+        when(labelCatalog.getProjectLabels(1L)).thenReturn(Map.of());
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTask(req, "testuser"));
+        verify(taskRepository, never()).addLabels(any(), any());
     }
 
     @Test
@@ -73,6 +133,314 @@ public class TaskServiceTest {
         assertThrows(IllegalArgumentException.class, () -> taskService.updateTask(1L, req, "testuser"));
     }
 
+    @Test
+    void testUpdateTaskAppliesOnlyLabelDiff() {
+        Label keep = Label.builder().id(1L).name("keep").build();
+        Label drop = Label.builder().id(2L).name("drop").build();
+        task.setLabels(new HashSet<>(Set.of(keep, drop)));
+        TaskRequest req = new TaskRequest();
+        req.setTitle("Test Task");
+        req.setLabelIds(List.of(1L, 3L));
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(permissionService.canEditTask(user, task)).thenReturn(true);
+        Map<Long, LabelResponse> catalog = Map.of(1L, new LabelResponse(), 2L, new LabelResponse(), 3L, new LabelResponse());
+        when(labelCatalog.getProjectLabels(1L)).thenReturn(catalog);
+        when(labelCatalog.getProjectLabels(1L, List.of(1L, 3L))).thenReturn(catalog);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
+        taskService.updateTask(1L, req, "testuser");
+        verify(taskRepository).removeLabels(1L, Set.of(2L));
+        verify(taskRepository).addLabels(1L, Set.of(3L));
+        // Solo cambiaron las labels: la versión se incrementa igualmente
+        verify(entityManager).lock(task, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Test
+    void testUpdateTaskWithoutAssigneeKeepsIt() {
+        User assignee = User.builder().id(2L).username("assignee").build();
+        task.setAssignedTo(assignee);
+        task.setDescription("Detalle");
+        TaskRequest req = new TaskRequest();
+        req.setTitle("Nuevo título");
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(permissionService.canEditTask(user, task)).thenReturn(true);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
+        taskService.updateTask(1L, req, "testuser");
+        assertEquals(assignee, task.getAssignedTo());
+        assertEquals("Detalle", task.getDescription());
+        assertEquals("Nuevo título", task.getTitle());
+    }
+
+    @Test
+    void testUpdateTaskRejectsMissingTitle() {
+        TaskRequest req = new TaskRequest();
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(permissionService.canEditTask(user, task)).thenReturn(true);
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTask(1L, req, "testuser"));
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testBulkUpdateLabelNoPermission() {
+        BulkLabelRequest req = new BulkLabelRequest();
+        req.setProjectId(1L);
+        req.setLabelId(1L);
+        req.setTaskIds(List.of(1L, 2L));
+        req.setAction(BulkLabelRequest.Action.ADD);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(permissionService.canEditProject(user, project)).thenReturn(false);
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkUpdateLabel(req, "testuser"));
+        verify(taskRepository, never()).bulkAddLabel(any(), any(), any());
+    }
+
+    @Test
+    void testGetProjectBoardGroupsCardsByStatus() {
+        Task second = Task.builder().id(2L).title("Second").project(project).createdBy(user).status(TaskStatus.TODO).priority(TaskPriority.LOW).build();
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectSummaryService.findActive(1L)).thenReturn(Optional.of(boardSummary));
+        when(permissionService.canViewProject(user, boardSummary)).thenReturn(true);
+        when(taskRepository.findBoardCards(1L, List.of("TODO", "IN_PROGRESS", "REVIEW", "DONE"), 2))
+                .thenReturn(List.of(card(1L, "TODO", "0a"), card(2L, "TODO", "0b")));
+        when(taskRepository.findWithDetailsByIdIn(List.of(1L, 2L))).thenReturn(List.of(second, task));
+
+        BoardResponse board = taskService.getProjectBoard(1L, 2, "testuser");
+        assertEquals(TaskStatus.values().length, board.getColumns().size());
+        assertEquals(3, board.getColumns().get(3).getTotal());
+        BoardColumnResponse todo = board.getColumns().get(0);
+        assertEquals(5, todo.getTotal());
+        assertEquals(1L, todo.getTasks().get(0).getId());
+        assertEquals(BoardCursors.of("0b", 2L), todo.getNextCursor());
+        assertNull(board.getColumns().get(1).getNextCursor());
+    }
+
+    @Test
+    void testGetBoardColumnSkipsTasksRemovedBetweenQueries() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectSummaryService.findActive(1L)).thenReturn(Optional.of(boardSummary));
+        when(permissionService.canViewProject(user, boardSummary)).thenReturn(true);
+        // La tarea 2 se borró entre la consulta de ids y la carga de las tarjetas
+        when(taskRepository.findColumnPage(1L, "TODO", 3)).thenReturn(List.of(columnCard(1L, "0a"), columnCard(2L, "0b")));
+        when(taskRepository.findWithDetailsByIdIn(List.of(1L, 2L))).thenReturn(List.of(task));
+
+        BoardColumnResponse column = taskService.getBoardColumn(1L, TaskStatus.TODO, null, 2, "testuser");
+        assertEquals(1, column.getTasks().size());
+        assertEquals(1L, column.getTasks().get(0).getId());
+        assertEquals(5, column.getTotal());
+        assertNull(column.getNextCursor());
+    }
+
+    @Test
+    void testGetBoardColumnContinuesFromCursorPosition() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectSummaryService.findActive(1L)).thenReturn(Optional.of(boardSummary));
+        when(permissionService.canViewProject(user, boardSummary)).thenReturn(true);
+        // La tarjeta 9 del cursor ya no existe: la página sigue desde su posición, no desde su fila actual
+        when(taskRepository.findColumnPageAfter(1L, "TODO", "0b", 9L, 2)).thenReturn(List.of(columnCard(1L, "0c")));
+        when(taskRepository.findUnrankedColumnPageAfter(1L, "TODO", 0L, 1)).thenReturn(List.of(columnCard(12L, null)));
+        when(taskRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(task));
+
+        BoardColumnResponse column = taskService.getBoardColumn(1L, TaskStatus.TODO, BoardCursors.of("0b", 9L), 1, "testuser");
+        assertEquals(1L, column.getTasks().get(0).getId());
+        assertEquals(BoardCursors.of("0c", 1L), column.getNextCursor());
+    }
+
+    @Test
+    void testGetBoardColumnRejectsMalformedCursor() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectSummaryService.findActive(1L)).thenReturn(Optional.of(boardSummary));
+        when(permissionService.canViewProject(user, boardSummary)).thenReturn(true);
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getBoardColumn(1L, TaskStatus.TODO, "%%%", 20, "testuser"));
+    }
+
+    @Test
+    void testWriteProjectTasksStreamsInIdOrder() throws Exception {
+        Task second = Task.builder().id(2L).title("Second").project(project).createdBy(user).status(TaskStatus.TODO).priority(TaskPriority.LOW).build();
+        ProjectSummary summary = ProjectSummary.builder().projectId(1L).revision(1L).build();
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectSummaryService.findActive(1L)).thenReturn(Optional.of(summary));
+        when(permissionService.canViewProject(user, summary)).thenReturn(true);
+        // La tarea 3 se archivó entre la consulta de ids y la carga del bloque
+        when(taskRepository.findIdsByProjectId(1L)).thenReturn(List.of(1L, 2L, 3L));
+        when(taskRepository.findWithDetailsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(second, task));
+        when(labelCatalog.getProjectLabels(1L)).thenReturn(Map.of());
+
+        ObjectMapper mapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SequenceWriter writer = mapper.writerFor(TaskResponse.class).writeValuesAsArray(out)) {
+            taskService.writeProjectTasks(1L, "testuser", writer);
+        }
+
+        JsonNode array = mapper.readTree(out.toByteArray());
+        assertEquals(2, array.size());
+        assertEquals(1L, array.get(0).path("id").asLong());
+        assertEquals("Second", array.get(1).path("title").asText());
+        // Una transacción para los ids y otra por bloque; el contexto se vacía tras cada bloque
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void testWriteProjectTasksNoPermission() {
+        ProjectSummary summary = ProjectSummary.builder().projectId(1L).revision(1L).build();
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectSummaryService.findActive(1L)).thenReturn(Optional.of(summary));
+        when(permissionService.canViewProject(user, summary)).thenReturn(false);
+        assertThrows(IllegalArgumentException.class, () -> taskService.checkCanViewProjectTasks(1L, "testuser"));
+        verify(taskRepository, never()).findIdsByProjectId(any());
+    }
+
+    @Test
+    void testGetProjectTasksNormalizedListsEachReferenceOnce() {
+        ProjectSummary summary = ProjectSummary.builder().projectId(1L).revision(4L).build();
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(projectSummaryService.findActive(1L)).thenReturn(Optional.of(summary));
+        when(permissionService.canViewProject(user, summary)).thenReturn(true);
+        when(taskRepository.findRowsByProjectId(1L)).thenReturn(List.of(
+                row(1L, 1L, 2L, 1L), row(2L, 1L, null, 1L), row(3L, 1L, 2L, 2L)));
+        // El catálogo se pide con todas las etiquetas enlazadas (se recarga si falta alguna); la 99 ya no existe
+        when(taskRepository.findLabelLinksByProjectId(1L)).thenReturn(List.of(
+                link(1L, 10L), link(1L, 99L), link(3L, 10L), link(3L, 11L)));
+        when(labelCatalog.getProjectLabels(1L, Set.of(10L, 11L, 99L)))
+                .thenReturn(Map.of(10L, label(10L, "bug"), 11L, label(11L, "ux")));
+        when(userRepository.findUsernamesByIdIn(Set.of(1L, 2L))).thenReturn(List.of(userName(1L, "testuser"), userName(2L, "ana")));
+        when(projectRepository.findNamesByIdIn(Set.of(1L))).thenReturn(List.of(projectName(1L, "Test Project")));
+
+        NormalizedTaskListResponse response = taskService.getProjectTasksNormalized(1L, "testuser");
+
+        assertEquals(3, response.getTasks().size());
+        assertEquals(List.of(10L), response.getTasks().get(0).getLabelIds());
+        assertEquals(TaskStatus.TODO, response.getTasks().get(1).getStatus());
+        assertNull(response.getTasks().get(1).getAssignedToId());
+        assertEquals(Map.of(1L, "testuser", 2L, "ana"), response.getUsers());
+        assertEquals(Map.of(1L, "Test Project"), response.getProjects());
+        assertEquals(List.of(10L, 11L), List.copyOf(response.getLabels().keySet()));
+        verify(taskRepository, never()).findByProject(any());
+        verify(labelCatalog, never()).getProjectLabels(1L);
+    }
+
+    @Test
+    void testGetUserTasksNormalizedWithoutTasks() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.findRowsByAssignedTo(1L)).thenReturn(List.of());
+        when(taskRepository.findLabelLinksByAssignedTo(1L)).thenReturn(List.of());
+
+        NormalizedTaskListResponse response = taskService.getUserTasksNormalized("testuser");
+
+        assertTrue(response.getTasks().isEmpty());
+        assertTrue(response.getUsers().isEmpty());
+        verify(userRepository, never()).findUsernamesByIdIn(any());
+    }
+
+    @Test
+    void testPatchTaskKeepsOmittedFields() throws Exception {
+        User assignee = User.builder().id(2L).username("assignee").build();
+        task.setAssignedTo(assignee);
+        task.setVersion(1L);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(permissionService.canEditTask(user, task)).thenReturn(true);
+        when(labelCatalog.getProjectLabels(1L)).thenReturn(Map.of());
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
+        JsonNode patch = new ObjectMapper().readTree("{\"title\": \"Nuevo título\", \"dueDate\": null}");
+        taskService.patchTask(1L, patch, 1L, "testuser");
+        assertEquals("Nuevo título", task.getTitle());
+        assertEquals(assignee, task.getAssignedTo());
+        assertNull(task.getDueDate());
+        verify(taskRepository, never()).addLabels(any(), any());
+    }
+
+    @Test
+    void testPatchTaskStaleVersion() throws Exception {
+        task.setVersion(4L);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(permissionService.canEditTask(user, task)).thenReturn(true);
+        JsonNode patch = new ObjectMapper().readTree("{\"title\": \"Nuevo título\", \"version\": 3}");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.patchTask(1L, patch, null, "testuser"));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void testPatchTaskRejectsNullTitle() throws Exception {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(permissionService.canEditTask(user, task)).thenReturn(true);
+        JsonNode patch = new ObjectMapper().readTree("{\"title\": null}");
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(1L, patch, null, "testuser"));
+    }
+
+    @Test
+    void testMoveTaskBetweenNeighbours() {
+        MoveTaskRequest req = new MoveTaskRequest();
+        req.setStatus(TaskStatus.IN_PROGRESS);
+        req.setPreviousTaskId(2L);
+        req.setNextTaskId(3L);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(permissionService.canEditTask(user, task)).thenReturn(true);
+        when(taskRepository.findRank(2L, 1L, TaskStatus.IN_PROGRESS)).thenReturn(Optional.of("A"));
+        when(taskRepository.findRank(3L, 1L, TaskStatus.IN_PROGRESS)).thenReturn(Optional.of("B"));
+        when(labelCatalog.getProjectLabels(1L)).thenReturn(Map.of());
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
+        TaskResponse response = taskService.moveTask(1L, req, "testuser");
+        assertEquals(TaskStatus.IN_PROGRESS, response.getStatus());
+        assertTrue("A".compareTo(response.getRank()) < 0 && response.getRank().compareTo("B") < 0);
+        verify(labelUsageService).recordTaskChange(1L, Set.of(), TaskStatus.TODO, Set.of(), TaskStatus.IN_PROGRESS);
+        verify(projectFlowService).recordStatusChange(1L, TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+        verify(transitionRepository).save(argThat(transition -> transition.getTaskId().equals(1L)
+                && transition.getFromStatus() == TaskStatus.TODO && transition.getToStatus() == TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void testMoveTaskRejectsNeighbourOutsideColumn() {
+        MoveTaskRequest req = new MoveTaskRequest();
+        req.setPreviousTaskId(2L);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(permissionService.canEditTask(user, task)).thenReturn(true);
+        when(taskRepository.findRank(2L, 1L, TaskStatus.TODO)).thenReturn(Optional.empty());
+        assertThrows(IllegalArgumentException.class, () -> taskService.moveTask(1L, req, "testuser"));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void testGetUserDashboardAggregatesPerProject() {
+        TaskRepository.AssignedCount todo = assignedCount(1L, TaskStatus.TODO, TaskPriority.HIGH, 3L, 1L);
+        TaskRepository.AssignedCount done = assignedCount(1L, TaskStatus.DONE, TaskPriority.HIGH, 2L, 0L);
+        TaskRepository.AssignedCount other = assignedCount(2L, TaskStatus.TODO, TaskPriority.LOW, 1L, 1L);
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.countAssignedByProject(any(), any())).thenReturn(List.of(todo, done, other));
+        when(taskRepository.findNextDueIds(1L, 5)).thenReturn(List.of(1L));
+        when(taskRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(task));
+        when(labelCatalog.getProjectLabels(1L)).thenReturn(Map.of());
+        DashboardResponse response = taskService.getUserDashboard("testuser", 5);
+        assertEquals(6, response.getTotal());
+        assertEquals(2, response.getOverdue());
+        assertEquals(2, response.getProjects().size());
+        DashboardProjectResponse first = response.getProjects().get(0);
+        assertEquals(5, first.getTotal());
+        assertEquals(3L, first.getByStatus().get(TaskStatus.TODO));
+        assertEquals(5L, first.getByPriority().get(TaskPriority.HIGH));
+        assertEquals(1, response.getUpcomingTasks().size());
+    }
+
+    @Test
+    void testGetUserDashboardSkipsTasksRemovedBetweenQueries() {
+        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(taskRepository.countAssignedByProject(any(), any())).thenReturn(List.of());
+        // La tarea 2 se archivó entre la consulta de vencimientos y la carga de las tarjetas
+        when(taskRepository.findNextDueIds(1L, 5)).thenReturn(List.of(2L, 1L));
+        when(taskRepository.findWithDetailsByIdIn(List.of(2L, 1L))).thenReturn(List.of(task));
+        when(labelCatalog.getProjectLabels(1L)).thenReturn(Map.of());
+        DashboardResponse response = taskService.getUserDashboard("testuser", 5);
+        assertEquals(1, response.getUpcomingTasks().size());
+        assertEquals(1L, response.getUpcomingTasks().get(0).getId());
+    }
+
     @Test
     void testDeleteTaskNoPermission() {
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
@@ -80,4 +448,76 @@ public class TaskServiceTest {
         when(permissionService.canDeleteTask(user, task)).thenReturn(false);
         assertThrows(IllegalArgumentException.class, () -> taskService.deleteTask(1L, "testuser"));
     }
-} 
\ No newline at end of file
+
+    private TaskRepository.TaskRow row(Long id, Long projectId, Long assignedToId, Long createdById) {
+        return new TaskRepository.TaskRow() {
+            public Long getId() { return id; }
+            public Long getVersion() { return 0L; }
+            public String getTitle() { return "Tarea " + id; }
+            public String getDescription() { return null; }
+            public String getStatus() { return "TODO"; }
+            public String getPriority() { return "MEDIUM"; }
+            public Long getProjectId() { return projectId; }
+            public Long getAssignedToId() { return assignedToId; }
+            public Long getCreatedById() { return createdById; }
+            public LocalDateTime getCreatedAt() { return LocalDateTime.of(2025, 1, 1, 9, 0); }
+            public LocalDateTime getDueDate() { return null; }
+            public String getRank() { return "m"; }
+        };
+    }
+
+    private TaskRepository.TaskLabelLink link(Long taskId, Long labelId) {
+        return new TaskRepository.TaskLabelLink() {
+            public Long getTaskId() { return taskId; }
+            public Long getLabelId() { return labelId; }
+        };
+    }
+
+    private UserRepository.UserName userName(Long id, String username) {
+        return new UserRepository.UserName() {
+            public Long getId() { return id; }
+            public String getUsername() { return username; }
+        };
+    }
+
+    private ProjectRepository.ProjectName projectName(Long id, String name) {
+        return new ProjectRepository.ProjectName() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+        };
+    }
+
+    private LabelResponse label(Long id, String name) {
+        LabelResponse label = new LabelResponse();
+        label.setId(id);
+        label.setName(name);
+        label.setProjectId(1L);
+        return label;
+    }
+
+    private TaskRepository.BoardCard card(Long id, String status, String boardRank) {
+        return new TaskRepository.BoardCard() {
+            public Long getId() { return id; }
+            public String getBoardRank() { return boardRank; }
+            public String getStatus() { return status; }
+        };
+    }
+
+    private TaskRepository.ColumnCard columnCard(Long id, String boardRank) {
+        return new TaskRepository.ColumnCard() {
+            public Long getId() { return id; }
+            public String getBoardRank() { return boardRank; }
+        };
+    }
+
+    private TaskRepository.AssignedCount assignedCount(Long projectId, TaskStatus status, TaskPriority priority, Long total, Long overdue) {
+        return new TaskRepository.AssignedCount() {
+            public Long getProjectId() { return projectId; }
+            public String getProjectName() { return "Proyecto " + projectId; }
+            public TaskStatus getStatus() { return status; }
+            public TaskPriority getPriority() { return priority; }
+            public Long getTotal() { return total; }
+            public Long getOverdue() { return overdue; }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.davivienda.projectapp.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class BoardCursorsTest {
+
+    @Test
+    void testCursorKeepsRankAndId() {
+        BoardCursors.Position position = BoardCursors.parse(BoardCursors.of("0aZ9", 42L));
+        assertEquals("0aZ9", position.boardRank());
+        assertEquals(42L, position.id());
+    }
+
+    @Test
+    void testCursorOfUnrankedTask() {
+        BoardCursors.Position position = BoardCursors.parse(BoardCursors.of(null, 7L));
+        assertNull(position.boardRank());
+        assertEquals(7L, position.id());
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> BoardCursors.parse("no es un cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> BoardCursors.parse("MTIz"));
+    }
+}
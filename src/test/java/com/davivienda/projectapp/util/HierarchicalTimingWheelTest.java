@@ -0,0 +1,65 @@
+package com.davivienda.projectapp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class HierarchicalTimingWheelTest {
+    private static final long START = 1_000_000;
+
+    @Test
+    void testFiresAtDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+        wheel.schedule("a", START + 50);
+        assertTrue(wheel.advance(START + 40).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(START + 50));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testPastDeadlineFiresOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+        wheel.schedule("late", START - 100);
+        assertEquals(List.of("late"), wheel.advance(START));
+    }
+
+    @Test
+    void testCancel() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("a", START + 5_000);
+        wheel.schedule("b", START + 5_000);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("b"), wheel.advance(START + 5_000));
+    }
+
+    @Test
+    void testCascadesAcrossLevelsInOrder() {
+        // Con 8 ranuras de 10 ms, los plazos aleatorios de hasta 100 s atraviesan varios niveles
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = START + 10 + random.nextInt(100_000) / 10 * 10;
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START; now <= START + 100_010; now += 370) {
+            for (Long deadline : wheel.advance(now)) {
+                // Nunca antes de su plazo ni más tarde que el avance en que debía vencer
+                assertTrue(deadline <= now && deadline > now - 370);
+                fired.add(deadline);
+            }
+        }
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,116 @@
+package com.davivienda.projectapp.util;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class RankKeysTest {
+
+    @Test
+    void testBetweenEmptyColumn() {
+        String key = RankKeys.between(null, null);
+        assertEquals(1, key.length());
+    }
+
+    @Test
+    void testBetweenIsStrictlyOrdered() {
+        String a = RankKeys.between(null, null);
+        String b = RankKeys.between(a, null);
+        String c = RankKeys.between(a, b);
+        String d = RankKeys.between(null, a);
+        assertTrue(a.compareTo(b) < 0);
+        assertTrue(a.compareTo(c) < 0 && c.compareTo(b) < 0);
+        assertTrue(d.compareTo(a) < 0);
+    }
+
+    @Test
+    void testRepeatedInsertionsBetweenNeighbours() {
+        String low = RankKeys.between(null, null);
+        String high = RankKeys.between(low, null);
+        for (int i = 0; i < 200; i++) {
+            String mid = RankKeys.between(low, high);
+            assertTrue(low.compareTo(mid) < 0 && mid.compareTo(high) < 0);
+            assertNotEquals('0', mid.charAt(mid.length() - 1));
+            if (i % 2 == 0) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+    }
+
+    @Test
+    void testRepeatedAppendsKeepKeysShort() {
+        String last = RankKeys.between(null, null);
+        for (int i = 0; i < 20000; i++) {
+            String next = RankKeys.after(last);
+            assertTrue(last.compareTo(next) < 0);
+            assertNotEquals('0', next.charAt(next.length() - 1));
+            assertTrue(next.length() <= 4, "longitud " + next.length() + " tras " + i + " inserciones");
+            last = next;
+        }
+    }
+
+    @Test
+    void testAppendsAfterRebalancedColumnStayBounded() {
+        // Tras rebalancear, la última clave queda cerca del final del rango
+        List<String> keys = RankKeys.evenlySpaced(5000);
+        String last = keys.get(keys.size() - 1);
+        for (int i = 0; i < 20000; i++) {
+            String next = RankKeys.after(last);
+            assertTrue(last.compareTo(next) < 0);
+            assertTrue(next.length() <= 5, "longitud " + next.length() + " tras " + i + " inserciones");
+            last = next;
+        }
+    }
+
+    @Test
+    void testRepeatedPrependsKeepKeysShort() {
+        String first = RankKeys.between(null, null);
+        for (int i = 0; i < 20000; i++) {
+            String previous = RankKeys.before(first);
+            assertTrue(previous.compareTo(first) < 0);
+            assertNotEquals('0', previous.charAt(previous.length() - 1));
+            assertTrue(previous.length() <= 4, "longitud " + previous.length() + " tras " + i + " inserciones");
+            first = previous;
+        }
+    }
+
+    @Test
+    void testAfterAndBeforeLongKeys() {
+        String longKey = "V" + "z".repeat(30);
+        assertTrue(longKey.compareTo(RankKeys.after(longKey)) < 0);
+        assertEquals("W", RankKeys.after(longKey));
+        assertTrue("zzzz".compareTo(RankKeys.after("zzzz")) < 0);
+        assertTrue(RankKeys.before("0001").compareTo("0001") < 0);
+        assertTrue(RankKeys.before("1").compareTo("1") < 0);
+    }
+
+    @Test
+    void testAdjacentDigits() {
+        String mid = RankKeys.between("A", "B");
+        assertTrue("A".compareTo(mid) < 0 && mid.compareTo("B") < 0);
+        mid = RankKeys.between("Az", "B");
+        assertTrue("Az".compareTo(mid) < 0 && mid.compareTo("B") < 0);
+    }
+
+    @Test
+    void testRejectsInvertedNeighbours() {
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("a", "a"));
+    }
+
+    @Test
+    void testEvenlySpacedKeysAreSortedAndInsertable() {
+        List<String> keys = RankKeys.evenlySpaced(5000);
+        assertEquals(5000, keys.size());
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0);
+            RankKeys.between(keys.get(i - 1), keys.get(i));
+        }
+    }
+}
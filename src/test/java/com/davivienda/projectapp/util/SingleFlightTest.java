@@ -0,0 +1,104 @@
+package com.davivienda.projectapp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+    private final SingleFlight<String, List<String>> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentCallsShareOneComputation() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<List<String>> leader = executor.submit(() -> singleFlight.execute("p1:3", () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return List.of("tarea");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Future<List<String>>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("p1:3", () -> {
+                computations.incrementAndGet();
+                return List.of("otra");
+            })));
+        }
+        // Los seguidores se unen al cálculo en curso antes de liberarlo
+        Thread.sleep(100);
+        release.countDown();
+
+        List<String> result = leader.get(5, TimeUnit.SECONDS);
+        for (Future<List<String>> follower : followers) {
+            assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void testKeyIsReleasedAfterCompletion() {
+        AtomicInteger computations = new AtomicInteger();
+        singleFlight.execute("p1:3", () -> List.of(String.valueOf(computations.incrementAndGet())));
+        List<String> second = singleFlight.execute("p1:3", () -> List.of(String.valueOf(computations.incrementAndGet())));
+        assertEquals(List.of("2"), second);
+    }
+
+    @Test
+    void testFailureIsPropagatedAndNotRemembered() {
+        assertThrows(IllegalArgumentException.class, () -> singleFlight.execute("p1:3", () -> {
+            throw new IllegalArgumentException("Proyecto no encontrado");
+        }));
+        assertEquals(List.of("ok"), singleFlight.execute("p1:3", () -> List.of("ok")));
+    }
+
+    @Test
+    void testFollowersReceiveLeaderException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<List<String>> leader = executor.submit(() -> singleFlight.execute("p1:3", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalArgumentException("Proyecto no encontrado");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<List<String>> follower = executor.submit(() -> singleFlight.execute("p1:3", () -> List.of("ok")));
+        Thread.sleep(100);
+        release.countDown();
+
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertTrue(leaderError.getCause() instanceof IllegalArgumentException);
+        assertTrue(followerError.getCause() instanceof IllegalArgumentException);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
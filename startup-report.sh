@@ -0,0 +1,96 @@
+#!/bin/bash
+
+# Mide el arranque de la aplicación: jar normal frente al perfil faststart (AOT + CDS + lazy init)
+# Uso: ./startup-report.sh [jar] [directorio extraído]   (lo ejecuta `mvn -Pfaststart verify`)
+# Necesita la base de datos de application.yml o SPRING_DATASOURCE_URL/USERNAME/PASSWORD
+
+set -o pipefail
+
+JAR=${1:-target/projectapp-0.0.1-SNAPSHOT.jar}
+FASTSTART_DIR=${2:-target/faststart}
+PORT=${STARTUP_REPORT_PORT:-18080}
+RUNS=${STARTUP_REPORT_RUNS:-3}
+TIMEOUT_SECONDS=${STARTUP_REPORT_TIMEOUT:-120}
+REPORT=target/startup-report.txt
+BASE_URL="http://localhost:$PORT"
+
+if [ ! -f "$JAR" ]; then
+    echo "❌ No existe $JAR; ejecuta antes mvn -Pfaststart package"
+    exit 1
+fi
+if [ ! -f "$FASTSTART_DIR/projectapp.jsa" ]; then
+    echo "❌ No existe $FASTSTART_DIR/projectapp.jsa; ejecuta antes mvn -Pfaststart package"
+    exit 1
+fi
+mkdir -p target
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Arranca la aplicación, espera el primer 200 de /actuator/health y pide /v3/api-docs
+# (un bean perezoso en faststart). Imprime: started_s ready_ms first_api_ms
+measure() {
+    local label=$1
+    shift
+    local log="target/startup-$label.log"
+    local start
+    start=$(now_ms)
+    "$@" --server.port="$PORT" > "$log" 2>&1 &
+    local pid=$!
+
+    local ready=""
+    local deadline=$(( start + TIMEOUT_SECONDS * 1000 ))
+    while [ "$(now_ms)" -lt "$deadline" ] && kill -0 "$pid" 2>/dev/null; do
+        if [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/actuator/health")" = "200" ]; then
+            ready=$(( $(now_ms) - start ))
+            break
+        fi
+        sleep 0.05
+    done
+
+    local first_api=""
+    if [ -n "$ready" ]; then
+        first_api=$(curl -s -o /dev/null -w '%{time_total}' "$BASE_URL/v3/api-docs" | awk '{ printf "%d", $1 * 1000 }')
+    fi
+    kill "$pid" 2>/dev/null
+    wait "$pid" 2>/dev/null
+
+    if [ -z "$ready" ]; then
+        echo "❌ $label no respondió en ${TIMEOUT_SECONDS}s, revisa $log" >&2
+        return 1
+    fi
+    local started
+    started=$(grep -o 'Started ProjectappApplication in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' | head -1)
+    echo "$started $ready $first_api"
+}
+
+median() {
+    local column=$1
+    shift
+    printf '%s\n' "$@" | awk -v c="$column" '{ print $c }' | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+# Ejecuta RUNS arranques y se queda con la mediana de cada columna
+report() {
+    local label=$1
+    shift
+    local results=()
+    for ((i = 1; i <= RUNS; i++)); do
+        local result
+        result=$(measure "$label" "$@") || exit 1
+        results+=("$result")
+    done
+    printf "%-10s %12s s %14s ms %16s ms\n" "$label" \
+        "$(median 1 "${results[@]}")" "$(median 2 "${results[@]}")" "$(median 3 "${results[@]}")"
+}
+
+echo "⏱️  Midiendo arranque ($RUNS ejecuciones por configuración, mediana)..."
+{
+    printf "%-10s %14s %17s %19s\n" "perfil" "Started in" "primer 200" "primera API lazy"
+    report baseline java -jar "$JAR"
+    report faststart bash -c 'cd "$0" && exec java -XX:SharedArchiveFile=projectapp.jsa -Dspring.aot.enabled=true \
+        -Dspring.profiles.active=faststart -jar "$1" "${@:2}"' "$FASTSTART_DIR" "$(basename "$JAR")"
+} | tee "$REPORT"
+
+echo "📄 Informe guardado en $REPORT"